@@ -0,0 +1,98 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import cfg.*;
+import ir.*;
+import temp.*;
+
+/**
+ * CfgBuildBenchmark - ControlFlowGraph.build on branch-heavy IR
+ *
+ * The IR of a single function made of alternating if/else statements and
+ * while loops, each contributing labels, conditional and unconditional
+ * jumps. Generated once per trial; only build is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CfgBuildBenchmark
+{
+	@Param({ "10000", "40000", "160000" })
+	public int branches;
+
+	private List<IrCommand> ir;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		ir = new ArrayList<>();
+		IrVariables variables = new IrVariables();
+		int xVar = variables.declare("x");
+		int yVar = variables.declare("y");
+		int serial = 0;
+		int label = 0;
+		ir.add(new IrCommandLabel("Label_" + (label++) + "_func_main"));
+		for (int i = 0; i < branches; i++) {
+			Temp x = new Temp(serial++);
+			Temp c = new Temp(serial++);
+			Temp cond = new Temp(serial++);
+			if (i % 2 == 0) {
+				String elseLabel = "Label_" + (label++) + "_if_else";
+				String afterLabel = "Label_" + (label++) + "_if_after";
+				ir.add(new IrCommandLoad(x, xVar));
+				ir.add(new IRcommandConstInt(c, i));
+				ir.add(new IrCommandBinopLtIntegers(cond, x, c));
+				ir.add(new IrCommandJumpIfEqToZero(cond, elseLabel));
+				ir.add(new IrCommandStore(yVar, x));
+				ir.add(new IrCommandJumpLabel(afterLabel));
+				ir.add(new IrCommandLabel(elseLabel));
+				ir.add(new IrCommandStore(yVar, c));
+				ir.add(new IrCommandLabel(afterLabel));
+			} else {
+				String beginLabel = "Label_" + (label++) + "_while_begin";
+				String afterLabel = "Label_" + (label++) + "_while_after";
+				ir.add(new IrCommandLabel(beginLabel));
+				ir.add(new IrCommandLoad(x, xVar));
+				ir.add(new IRcommandConstInt(c, i));
+				ir.add(new IrCommandBinopGtIntegers(cond, x, c));
+				ir.add(new IrCommandJumpIfEqToZero(cond, afterLabel));
+				ir.add(new IrCommandStore(xVar, c));
+				ir.add(new IrCommandJumpLabel(beginLabel));
+				ir.add(new IrCommandLabel(afterLabel));
+			}
+		}
+	}
+
+	@Benchmark
+	public ControlFlowGraph build()
+	{
+		return ControlFlowGraph.build(ir);
+	}
+}
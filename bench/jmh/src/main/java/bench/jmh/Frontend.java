@@ -0,0 +1,102 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+import java_cup.runtime.lr_parser;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import ast.AstDecList;
+import symboltable.NamePool;
+
+/**
+ * Frontend - Access to the generated Lexer and Parser
+ *
+ * JFlex and CUP generate them into the default package, which a named
+ * package cannot import, so they are reached through method handles
+ * resolved once.
+ */
+public final class Frontend
+{
+	private static final MethodHandle NEW_LEXER;
+	private static final MethodHandle SET_NAME_POOL;
+	private static final MethodHandle NEW_PARSER;
+
+	static
+	{
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> lexer = Class.forName("Lexer");
+			Class<?> parser = Class.forName("Parser");
+			NEW_LEXER = lookup.findConstructor(lexer, MethodType.methodType(void.class, Reader.class))
+				.asType(MethodType.methodType(Scanner.class, Reader.class));
+			SET_NAME_POOL = lookup.findVirtual(lexer, "setNamePool", MethodType.methodType(void.class, NamePool.class))
+				.asType(MethodType.methodType(void.class, Scanner.class, NamePool.class));
+			NEW_PARSER = lookup.findConstructor(parser, MethodType.methodType(void.class, lexer, PrintWriter.class))
+				.asType(MethodType.methodType(lr_parser.class, Scanner.class, PrintWriter.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private Frontend()
+	{
+	}
+
+	/*********************************************/
+	/* A lexer over source, interning into names */
+	/*********************************************/
+	public static Scanner lexer(String source, NamePool names) throws Throwable
+	{
+		return lexer(new StringReader(source), names);
+	}
+
+	public static Scanner lexer(Reader reader, NamePool names) throws Throwable
+	{
+		Scanner lexer = (Scanner) NEW_LEXER.invokeExact(reader);
+		SET_NAME_POOL.invokeExact(lexer, names);
+		return lexer;
+	}
+
+	/*********************************/
+	/* Scan to EOF, count the tokens */
+	/*********************************/
+	public static int scan(String source, NamePool names) throws Throwable
+	{
+		return scan(new StringReader(source), names);
+	}
+
+	public static int scan(Reader reader, NamePool names) throws Throwable
+	{
+		Scanner lexer = lexer(reader, names);
+		int tokens = 0;
+		for (Symbol s = lexer.next_token(); s.sym != 0; s = lexer.next_token()) {
+			tokens++;
+		}
+		return tokens;
+	}
+
+	/******************************************/
+	/* Parse source; syntax errors are thrown */
+	/******************************************/
+	public static AstDecList parse(String source, NamePool names) throws Throwable
+	{
+		lr_parser parser = (lr_parser)
+			NEW_PARSER.invokeExact(lexer(source, names), new PrintWriter(Writer.nullWriter()));
+		return (AstDecList) parser.parse().value;
+	}
+}
@@ -0,0 +1,69 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import ir.*;
+import temp.*;
+
+/**
+ * IrScalingBenchmark - IR emission as the program grows
+ *
+ * Emits the instruction mix of a typical statement sequence
+ * ("x := x + 1; if (x < c) {...}") through Ir.AddIrCommand. statements
+ * grows by 4x per step, so the score of a linear emitter grows by 4x too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IrScalingBenchmark
+{
+	@Param({ "25000", "100000", "400000" })
+	public int statements;
+
+	@Benchmark
+	public Ir emit()
+	{
+		Ir ir = new Ir();
+		int var = ir.getVariables().declare("x");
+		int serial = 0;
+		for (int i = 0; i < statements; i++) {
+			Temp x = new Temp(serial++);
+			Temp one = new Temp(serial++);
+			Temp sum = new Temp(serial++);
+			ir.AddIrCommand(new IrCommandLoad(x, var));
+			ir.AddIrCommand(new IRcommandConstInt(one, 1));
+			ir.AddIrCommand(new IrCommandBinopAddIntegers(sum, x, one));
+			ir.AddIrCommand(new IrCommandStore(var, sum));
+			if (i % 8 == 0) {
+				String after = "Label_" + i + "_if_after";
+				Temp cond = new Temp(serial++);
+				ir.AddIrCommand(new IrCommandBinopLtIntegers(cond, sum, one));
+				ir.AddIrCommand(new IrCommandJumpIfEqToZero(cond, after));
+				ir.AddIrCommand(new IrCommandLabel(after));
+			}
+		}
+		return ir;
+	}
+}
@@ -0,0 +1,128 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import source.SourceReader;
+import symboltable.NamePool;
+
+/**
+ * LexerBenchmark - Lexing a source file from disk
+ *
+ * Writes a synthetic L source of about megabytes MB to a temporary file
+ * and scans it to EOF, through the original unbuffered FileReader
+ * (reader) and through SourceReader, which memory-maps the file
+ * (mapped). Opening the file is part of the measured time. Besides the
+ * files scanned per second, every benchmark reports the secondary
+ * result "megabytes": the throughput in MB/s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexerBenchmark
+{
+	@Param({ "1", "4", "16" })
+	public int megabytes;
+
+	private File file;
+	private long size;
+
+	/*********************************************/
+	/* MB scanned; reported as a rate, so MB/s   */
+	/*********************************************/
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Scanned
+	{
+		private long bytes;
+
+		@Setup(Level.Iteration)
+		public void reset()
+		{
+			bytes = 0;
+		}
+
+		public double megabytes()
+		{
+			return bytes / (1024.0 * 1024.0);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		file = File.createTempFile("lexer-bench", ".txt");
+		long target = megabytes * 1024L * 1024L;
+		long written = 0;
+		try (PrintWriter out = new PrintWriter(file)) {
+			for (int f = 0; written < target; f++) {
+				String body = String.format(
+					"// function number %d\n" +
+					"int func%d(int a%d, int b%d)\n{\n" +
+					"\tint x%d := a%d + 17;\n" +
+					"\tstring s%d := \"hello\";\n" +
+					"\twhile (x%d < b%d) { x%d := x%d * 2 - 1; }\n" +
+					"\tif (x%d = 0) { PrintInt(x%d); } else { PrintString(s%d); }\n" +
+					"\t/* done */\n\treturn x%d;\n}\n",
+					f, f, f, f, f, f, f, f, f, f, f, f, f, f, f);
+				out.print(body);
+				written += body.length();
+			}
+		}
+		size = file.length();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		file.delete();
+	}
+
+	@Benchmark
+	public int reader(Scanned scanned) throws Throwable
+	{
+		scanned.bytes += size;
+		try (FileReader in = new FileReader(file)) {
+			return Frontend.scan(in, new NamePool());
+		}
+	}
+
+	@Benchmark
+	public int mapped(Scanned scanned) throws Throwable
+	{
+		scanned.bytes += size;
+		try (Reader in = SourceReader.open(file.getPath())) {
+			return Frontend.scan(in, new NamePool());
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import ast.CompilationContext;
+import bench.ProgramGenerator;
+import cfg.BasicBlock;
+import cfg.ControlFlowGraph;
+import dfa.DfaEngine;
+import dfa.LivenessAnalysis;
+
+/**
+ * LivenessBenchmark - Live variable analysis on large generated functions
+ *
+ * A few functions whose bodies grow with statements (per block, at every
+ * if/while nesting level) and use many variables, so each CFG has
+ * thousands of blocks and a wide universe. liveness solves the backward
+ * fixed point (construction included, as analyses are built per query);
+ * instructions also expands every block to per-instruction live-out
+ * sets; definiteAssignment solves the forward analysis on the same CFGs
+ * for reference, and both runs the two analyses over one shared numbering.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LivenessBenchmark
+{
+	private static final long SEED = 42;
+
+	@State(Scope.Benchmark)
+	public static class Functions
+	{
+		@Param({ "16", "32", "64" })
+		public int statements;
+
+		public List<ControlFlowGraph> cfgs;
+
+		@Setup(Level.Trial)
+		public void setUp() throws Throwable
+		{
+			ProgramGenerator.Config config = new ProgramGenerator.Config();
+			config.seed = SEED;
+			config.functions = 4;
+			config.classes = 0;
+			config.variables = 64;
+			config.nestingDepth = 2;
+			config.statements = statements;
+			CompilationContext ctx = PipelineBenchmark.compile(ProgramGenerator.generate(config).source);
+			cfgs = new ArrayList<>();
+			for (ControlFlowGraph cfg : ControlFlowGraph.buildPerFunction(ctx.getIr().getAllCommands())) {
+				if (!cfg.getName().equals(ControlFlowGraph.GLOBALS)) {
+					cfgs.add(cfg);
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void liveness(Functions functions, Blackhole blackhole)
+	{
+		for (ControlFlowGraph cfg : functions.cfgs) {
+			LivenessAnalysis liveness = new LivenessAnalysis(cfg);
+			liveness.run();
+			blackhole.consume(liveness);
+		}
+	}
+
+	@Benchmark
+	public void instructions(Functions functions, Blackhole blackhole)
+	{
+		for (ControlFlowGraph cfg : functions.cfgs) {
+			LivenessAnalysis liveness = new LivenessAnalysis(cfg);
+			liveness.run();
+			for (BasicBlock block : cfg.getBlocks()) {
+				blackhole.consume(liveness.getInstructionLiveOut(block));
+			}
+		}
+	}
+
+	@Benchmark
+	public void definiteAssignment(Functions functions, Blackhole blackhole)
+	{
+		for (ControlFlowGraph cfg : functions.cfgs) {
+			DfaEngine engine = new DfaEngine(cfg);
+			engine.run();
+			blackhole.consume(engine);
+		}
+	}
+
+	@Benchmark
+	public void both(Functions functions, Blackhole blackhole)
+	{
+		for (ControlFlowGraph cfg : functions.cfgs) {
+			DfaEngine engine = new DfaEngine(cfg);
+			engine.run();
+			LivenessAnalysis liveness = new LivenessAnalysis(cfg, engine.getNumbering(), new BitSet());
+			liveness.run();
+			blackhole.consume(engine);
+			blackhole.consume(liveness);
+		}
+	}
+}
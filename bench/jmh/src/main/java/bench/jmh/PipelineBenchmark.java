@@ -0,0 +1,199 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import ast.AstDecList;
+import ast.CompilationContext;
+import cfg.ControlFlowGraph;
+import dfa.DfaEngine;
+import dfa.UninitializedAnalyzer;
+import ir.IrCommand;
+import ir.IrVariables;
+import symboltable.NamePool;
+
+/**
+ * PipelineBenchmark - One JMH benchmark per phase of the analyzer
+ *
+ * lex, parse, semantMe, irMe, cfg (ControlFlowGraph.buildPerFunction,
+ * i.e. ControlFlowGraph.build per function), dfa (DfaEngine.run) and
+ * analyze (UninitializedAnalyzer.analyze, engine construction included),
+ * each over programs of every size and shape. Phases that mutate their
+ * input (semantMe, irMe, DfaEngine.run) get a fresh input per
+ * invocation, prepared outside the measured time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark
+{
+	/*****************************************/
+	/* The program, and every phase's input  */
+	/* that a benchmark only reads           */
+	/*****************************************/
+	@State(Scope.Benchmark)
+	public static class Program
+	{
+		@Param({ "16", "64", "256" })
+		public int size;
+
+		@Param({ "FLAT", "NESTED", "CLASSES" })
+		public Programs.Shape shape;
+
+		public String source;
+		public IrVariables variables;
+		public List<IrCommand> ir;
+		public List<ControlFlowGraph> cfgs;
+
+		@Setup(Level.Trial)
+		public void setUp() throws Throwable
+		{
+			source = Programs.generate(shape, size);
+			CompilationContext ctx = compile(source);
+			variables = ctx.getVariables();
+			ir = ctx.getIr().getAllCommands();
+			cfgs = ControlFlowGraph.buildPerFunction(ir);
+		}
+	}
+
+	/**********************************/
+	/* A freshly parsed AST per call  */
+	/**********************************/
+	@State(Scope.Thread)
+	public static class ParsedAst
+	{
+		public AstDecList ast;
+		public CompilationContext ctx;
+
+		@Setup(Level.Invocation)
+		public void setUp(Program program) throws Throwable
+		{
+			ctx = new CompilationContext();
+			ast = Frontend.parse(program.source, ctx.getNames());
+		}
+	}
+
+	/**************************************/
+	/* A freshly analyzed AST per call    */
+	/**************************************/
+	@State(Scope.Thread)
+	public static class SemantedAst
+	{
+		public AstDecList ast;
+		public CompilationContext ctx;
+
+		@Setup(Level.Invocation)
+		public void setUp(Program program) throws Throwable
+		{
+			ctx = new CompilationContext();
+			ast = Frontend.parse(program.source, ctx.getNames());
+			ast.semantMe(ctx);
+		}
+	}
+
+	/*************************************/
+	/* Fresh (unsolved) engines per call */
+	/*************************************/
+	@State(Scope.Thread)
+	public static class Engines
+	{
+		public List<DfaEngine> engines;
+
+		@Setup(Level.Invocation)
+		public void setUp(Program program)
+		{
+			engines = new ArrayList<>();
+			for (ControlFlowGraph cfg : program.cfgs) {
+				engines.add(new DfaEngine(cfg));
+			}
+		}
+	}
+
+	@Benchmark
+	public int lex(Program program) throws Throwable
+	{
+		return Frontend.scan(program.source, new NamePool());
+	}
+
+	@Benchmark
+	public AstDecList parse(Program program) throws Throwable
+	{
+		return Frontend.parse(program.source, new NamePool());
+	}
+
+	@Benchmark
+	public CompilationContext semantMe(ParsedAst parsed) throws Exception
+	{
+		parsed.ast.semantMe(parsed.ctx);
+		return parsed.ctx;
+	}
+
+	@Benchmark
+	public CompilationContext irMe(SemantedAst semanted)
+	{
+		semanted.ast.irMe(semanted.ctx);
+		return semanted.ctx;
+	}
+
+	@Benchmark
+	public List<ControlFlowGraph> cfg(Program program)
+	{
+		return ControlFlowGraph.buildPerFunction(program.ir);
+	}
+
+	@Benchmark
+	public void dfa(Engines engines, Blackhole blackhole)
+	{
+		for (DfaEngine engine : engines.engines) {
+			engine.run();
+			blackhole.consume(engine);
+		}
+	}
+
+	@Benchmark
+	public void analyze(Program program, Blackhole blackhole)
+	{
+		for (ControlFlowGraph cfg : program.cfgs) {
+			Set<String> uninitialized = new UninitializedAnalyzer(cfg, program.variables).analyze();
+			blackhole.consume(uninitialized);
+		}
+	}
+
+	/*********************************************/
+	/* Parse, semant and IR a program end to end */
+	/*********************************************/
+	static CompilationContext compile(String source) throws Throwable
+	{
+		CompilationContext ctx = new CompilationContext();
+		AstDecList ast = Frontend.parse(source, ctx.getNames());
+		ast.semantMe(ctx);
+		ast.irMe(ctx);
+		return ctx;
+	}
+}
@@ -0,0 +1,63 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import bench.ProgramGenerator;
+
+/**
+ * Programs - Synthetic L programs of a given size and shape
+ *
+ * FLAT     many variables, short straight-line function bodies
+ * NESTED   if/while statements nested several levels deep
+ * CLASSES  long inheritance chains of classes with fields and methods
+ *
+ * size is the number of functions (and classes, for CLASSES). Programs
+ * come from ProgramGenerator with a fixed seed, so every run measures
+ * the same input.
+ */
+public final class Programs
+{
+	public enum Shape { FLAT, NESTED, CLASSES }
+
+	private static final long SEED = 42;
+
+	private Programs()
+	{
+	}
+
+	public static String generate(Shape shape, int size)
+	{
+		return ProgramGenerator.generate(config(shape, size)).source;
+	}
+
+	static ProgramGenerator.Config config(Shape shape, int size)
+	{
+		ProgramGenerator.Config config = new ProgramGenerator.Config();
+		config.seed = SEED;
+		config.functions = size;
+		switch (shape) {
+			case FLAT:
+				config.classes = 0;
+				config.nestingDepth = 0;
+				config.variables = 16;
+				config.statements = 12;
+				break;
+			case NESTED:
+				config.classes = 0;
+				config.nestingDepth = 6;
+				config.variables = 4;
+				config.statements = 3;
+				break;
+			case CLASSES:
+				config.classes = size;
+				config.inheritanceDepth = 8;
+				config.nestingDepth = 2;
+				break;
+		}
+		return config;
+	}
+}
@@ -0,0 +1,87 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import types.*;
+
+/**
+ * SubtypeBenchmark - Subtype checks in deep class hierarchies
+ *
+ * CHAINS independent "extends" ladders of depth classes each, then a
+ * batch of TypeUtils.canAssignTo and canCompareEquality checks between
+ * random pairs, the mix semantMe issues for assignments, arguments and
+ * comparisons. Values are drawn from the deep end of each chain, where a
+ * walk up the father chain would be longest. Scores are per check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubtypeBenchmark
+{
+	private static final int CHAINS = 8;
+	private static final int CHECKS = 1000000;
+
+	@Param({ "100", "400", "1600" })
+	public int depth;
+
+	private TypeClass[] classes;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		classes = new TypeClass[CHAINS * depth];
+		for (int c = 0; c < CHAINS; c++) {
+			TypeClass father = null;
+			for (int d = 0; d < depth; d++) {
+				TypeClass cls = new TypeClass(father, "C" + c + "_" + d);
+				cls.seal();
+				classes[c * depth + d] = cls;
+				father = cls;
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CHECKS)
+	public int check()
+	{
+		Random random = new Random(depth);
+		int accepted = 0;
+		for (int i = 0; i < CHECKS; i++) {
+			TypeClass value = classes[random.nextInt(CHAINS) * depth + depth - 1 - random.nextInt(Math.max(1, depth / 8))];
+			TypeClass target = classes[random.nextInt(classes.length)];
+			if ((i & 1) == 0) {
+				if (TypeUtils.canAssignTo(value, target)) accepted++;
+			} else {
+				if (TypeUtils.canCompareEquality(value, target)) accepted++;
+			}
+		}
+		return accepted;
+	}
+}
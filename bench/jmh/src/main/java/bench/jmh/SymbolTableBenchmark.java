@@ -0,0 +1,100 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench.jmh;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import symboltable.*;
+import types.*;
+
+/**
+ * SymbolTableBenchmark - Symbol table traffic as identifier count grows
+ *
+ * Replays the symbol table operations of a synthetic program: globals,
+ * then globals / 16 functions whose locals shadow some of the globals,
+ * each body opening nested block scopes and resolving identifiers the
+ * way semantMe does (a duplicate check on declaration, then find() for
+ * every use).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SymbolTableBenchmark
+{
+	private static final int LOCALS_PER_FUNCTION = 16;
+	private static final int USES_PER_SCOPE = 32;
+	private static final int NESTING_DEPTH = 4;
+
+	@Param({ "10000", "40000", "160000" })
+	public int globals;
+
+	private String[] names;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		names = new String[globals];
+		for (int i = 0; i < globals; i++) {
+			names[i] = "g" + i;
+		}
+	}
+
+	@Benchmark
+	public SymbolTable replay()
+	{
+		Random random = new Random(globals);
+		SymbolTable table = new SymbolTable(new NamePool());
+		Type intType = table.find("int");
+
+		for (String g : names) {
+			if (table.findInCurrentScope(g) == null) table.enter(g, intType);
+		}
+
+		int functions = Math.max(1, globals / LOCALS_PER_FUNCTION);
+		for (int f = 0; f < functions; f++) {
+			table.beginFuncScope(new TypeFunction(intType, "f" + f, null));
+			String[] locals = new String[LOCALS_PER_FUNCTION];
+			for (int l = 0; l < LOCALS_PER_FUNCTION; l++) {
+				// half the locals shadow a global
+				locals[l] = (l % 2 == 0) ? names[random.nextInt(globals)] : "x" + l;
+				if (table.findInCurrentScope(locals[l]) == null) table.enter(locals[l], intType);
+			}
+			for (int d = 0; d < NESTING_DEPTH; d++) {
+				table.beginScope();
+				table.enter("y" + d, intType);
+				for (int u = 0; u < USES_PER_SCOPE; u++) {
+					String name = (u % 2 == 0) ? locals[random.nextInt(LOCALS_PER_FUNCTION)] : names[random.nextInt(globals)];
+					if (table.find(name) == null) throw new IllegalStateException(name);
+				}
+			}
+			for (int d = 0; d < NESTING_DEPTH; d++) {
+				table.endScope();
+			}
+			table.endFuncScope();
+		}
+		return table;
+	}
+}
@@ -0,0 +1,623 @@
+/***********/
+/* PACKAGE */
+/***********/
+package bench;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ProgramGenerator - Seeded synthetic L programs with their expected output
+ *
+ * Emits globals, classes in inheritance chains (each with fields and a
+ * method), functions of nested if/while statements over int variables,
+ * and a main. While emitting, it tracks which variables are definitely
+ * initialized, with the same rules as the analyzer:
+ *
+ *   - a declaration without a value, a parameter, and a field read inside
+ *     a method start uninitialized;
+ *   - a definition whose expression reads a possibly uninitialized
+ *     variable, or calls a function or method, leaves its target
+ *     uninitialized;
+ *   - branches meet by intersection, and a loop header by intersection
+ *     with the end of its body, to a fixed point;
+ *   - every possibly uninitialized variable that is read is reported.
+ *
+ * so it knows the analyzer's output ("!OK" or the sorted names) without
+ * running it.
+ *
+ * This oracle is a model of those rules, not ground truth: it restates
+ * them, so a generated expected output only checks the analyzer against a
+ * second copy of the same rules and cannot catch a rule that is wrong in
+ * both. The rules themselves are pinned by the hand-written tests in
+ * input/ and expected_output/ (TEST_4: calls, TEST_5: fields read in a
+ * method, TEST_6: nested if/while); change those first when a rule
+ * changes, then this model. Identifiers are unique per program, so no
+ * name is shadowed.
+ *
+ * uninitializedDensity is the chance that each declaration, parameter
+ * or field is left unassigned and that a stored value comes from a
+ * call; at 0 every program is "!OK".
+ *
+ *   java bench.ProgramGenerator <count> <dir> [name=value ...]
+ *
+ * writes <dir>/input/GEN_<i>.txt and <dir>/expected_output/GEN_<i>_OUTPUT.txt
+ * (the layout of the repository's own tests) for seeds seed ..
+ * seed+count-1; the names are the fields of Config. Run
+ * "Main --batch <dir>/input <out>" and compare each output with its
+ * expected one.
+ */
+public class ProgramGenerator
+{
+	/******************************************/
+	/* Tunables; every field can be set from  */
+	/* the command line as name=value         */
+	/******************************************/
+	public static class Config
+	{
+		public long seed = 1;
+		public int functions = 8;
+		public int classes = 4;
+		public int inheritanceDepth = 2;
+		public int nestingDepth = 3;
+		public int variables = 6;
+		public int globals = 4;
+		public int statements = 5;
+		public double uninitializedDensity = 0.2;
+
+		public Config copy()
+		{
+			Config copy = new Config();
+			copy.seed = seed;
+			copy.functions = functions;
+			copy.classes = classes;
+			copy.inheritanceDepth = inheritanceDepth;
+			copy.nestingDepth = nestingDepth;
+			copy.variables = variables;
+			copy.globals = globals;
+			copy.statements = statements;
+			copy.uninitializedDensity = uninitializedDensity;
+			return copy;
+		}
+
+		/* Apply "name=value"; false if there is no such tunable */
+		public boolean set(String name, String value)
+		{
+			switch (name)
+			{
+				case "seed":                 seed = Long.parseLong(value); return true;
+				case "functions":            functions = Integer.parseInt(value); return true;
+				case "classes":              classes = Integer.parseInt(value); return true;
+				case "inheritanceDepth":     inheritanceDepth = Integer.parseInt(value); return true;
+				case "nestingDepth":         nestingDepth = Integer.parseInt(value); return true;
+				case "variables":            variables = Integer.parseInt(value); return true;
+				case "globals":              globals = Integer.parseInt(value); return true;
+				case "statements":           statements = Integer.parseInt(value); return true;
+				case "uninitializedDensity": uninitializedDensity = Double.parseDouble(value); return true;
+				default:                     return false;
+			}
+		}
+	}
+
+	/**************************************/
+	/* A program and the analyzer output  */
+	/* expected for it                    */
+	/**************************************/
+	public static class Program
+	{
+		public final String source;
+		public final String expectedOutput;
+
+		Program(String source, String expectedOutput)
+		{
+			this.source = source;
+			this.expectedOutput = expectedOutput;
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2) {
+			System.err.println("usage: ProgramGenerator <count> <dir> [name=value ...]");
+			System.exit(1);
+		}
+		int count = Integer.parseInt(args[0]);
+		File dir = new File(args[1]);
+		Config config = new Config();
+		for (int i = 2; i < args.length; i++) {
+			String[] option = args[i].split("=", 2);
+			if (option.length != 2 || !config.set(option[0], option[1])) {
+				System.err.println("unknown option " + args[i]);
+				System.exit(1);
+			}
+		}
+
+		File inputDir = new File(dir, "input");
+		File expectedDir = new File(dir, "expected_output");
+		inputDir.mkdirs();
+		expectedDir.mkdirs();
+		for (int i = 0; i < count; i++) {
+			Config one = config.copy();
+			one.seed = config.seed + i;
+			Program program = generate(one);
+			try (PrintWriter out = new PrintWriter(new File(inputDir, "GEN_" + i + ".txt"))) {
+				out.print(program.source);
+			}
+			try (PrintWriter out = new PrintWriter(new File(expectedDir, "GEN_" + i + "_OUTPUT.txt"))) {
+				out.print(program.expectedOutput);
+			}
+		}
+	}
+
+	/*****************************************/
+	/* One program; equal configs give equal */
+	/* programs                              */
+	/*****************************************/
+	public static Program generate(Config config)
+	{
+		return new ProgramGenerator(config).program();
+	}
+
+	/***************/
+	/* Expressions */
+	/***************/
+	private static final class Exp
+	{
+		final String text;
+		final List<String> reads;
+		final boolean calls;
+
+		Exp(String text, List<String> reads, boolean calls)
+		{
+			this.text = text;
+			this.reads = reads;
+			this.calls = calls;
+		}
+
+		/* Report the reads outside initialized; true if the value is initialized */
+		boolean check(Set<String> initialized, Set<String> reports)
+		{
+			boolean ok = !calls;
+			for (String read : reads) {
+				if (!initialized.contains(read)) {
+					ok = false;
+					if (reports != null) reports.add(read);
+				}
+			}
+			return ok;
+		}
+	}
+
+	/**************/
+	/* Statements */
+	/**************/
+	private abstract static class Stmt
+	{
+		abstract void print(StringBuilder out, String indent);
+
+		/* Update initialized across this statement; reports is null on a dry run */
+		abstract void flow(Set<String> initialized, Set<String> reports);
+	}
+
+	/* "int v;", "int v := e;", "v := e;" and "C o := new C;" */
+	private static final class Define extends Stmt
+	{
+		final String prefix;
+		final String target;
+		final Exp value;
+
+		Define(String prefix, String target, Exp value)
+		{
+			this.prefix = prefix;
+			this.target = target;
+			this.value = value;
+		}
+
+		void print(StringBuilder out, String indent)
+		{
+			out.append(indent).append(prefix).append(target);
+			if (value != null) out.append(" := ").append(value.text);
+			out.append(";\n");
+		}
+
+		void flow(Set<String> initialized, Set<String> reports)
+		{
+			if (value == null) return;
+			if (value.check(initialized, reports)) {
+				initialized.add(target);
+			} else {
+				initialized.remove(target);
+			}
+		}
+	}
+
+	/* "PrintInt(e);", "return e;" and "o.f := e;": reads only */
+	private static final class Use extends Stmt
+	{
+		final String format;
+		final Exp value;
+
+		Use(String format, Exp value)
+		{
+			this.format = format;
+			this.value = value;
+		}
+
+		void print(StringBuilder out, String indent)
+		{
+			out.append(indent).append(String.format(format, value.text)).append('\n');
+		}
+
+		void flow(Set<String> initialized, Set<String> reports)
+		{
+			value.check(initialized, reports);
+		}
+	}
+
+	private static final class If extends Stmt
+	{
+		final Exp cond;
+		final List<Stmt> then;
+		final List<Stmt> otherwise;
+
+		If(Exp cond, List<Stmt> then, List<Stmt> otherwise)
+		{
+			this.cond = cond;
+			this.then = then;
+			this.otherwise = otherwise;
+		}
+
+		void print(StringBuilder out, String indent)
+		{
+			out.append(indent).append("if (").append(cond.text).append(")\n");
+			printBlock(out, indent, then);
+			if (otherwise != null) {
+				out.append(indent).append("else\n");
+				printBlock(out, indent, otherwise);
+			}
+		}
+
+		void flow(Set<String> initialized, Set<String> reports)
+		{
+			cond.check(initialized, reports);
+			Set<String> thenOut = new HashSet<>(initialized);
+			flowBlock(then, thenOut, reports);
+			if (otherwise != null) {
+				flowBlock(otherwise, initialized, reports);
+			}
+			initialized.retainAll(thenOut);
+		}
+	}
+
+	private static final class While extends Stmt
+	{
+		final Exp cond;
+		final List<Stmt> body;
+
+		While(Exp cond, List<Stmt> body)
+		{
+			this.cond = cond;
+			this.body = body;
+		}
+
+		void print(StringBuilder out, String indent)
+		{
+			out.append(indent).append("while (").append(cond.text).append(")\n");
+			printBlock(out, indent, body);
+		}
+
+		void flow(Set<String> initialized, Set<String> reports)
+		{
+			// The header state: entry meet end of body, iterated to a fixed point
+			while (true) {
+				Set<String> bodyOut = new HashSet<>(initialized);
+				flowBlock(body, bodyOut, null);
+				if (bodyOut.containsAll(initialized)) break;
+				initialized.retainAll(bodyOut);
+			}
+			cond.check(initialized, reports);
+			if (reports != null) {
+				flowBlock(body, new HashSet<>(initialized), reports);
+			}
+		}
+	}
+
+	private static void printBlock(StringBuilder out, String indent, List<Stmt> block)
+	{
+		out.append(indent).append("{\n");
+		for (Stmt stmt : block) {
+			stmt.print(out, indent + "\t");
+		}
+		out.append(indent).append("}\n");
+	}
+
+	private static void flowBlock(List<Stmt> block, Set<String> initialized, Set<String> reports)
+	{
+		for (Stmt stmt : block) {
+			stmt.flow(initialized, reports);
+		}
+	}
+
+	/*************/
+	/* Generator */
+	/*************/
+	private static final String[] OPERATORS = { "+", "-", "*", "<", ">", "=" };
+
+	private final Config config;
+	private final Random random;
+	private final StringBuilder out = new StringBuilder();
+	private final Set<String> reports = new TreeSet<>();
+	private int names = 0;
+
+	private final List<String> globalNames = new ArrayList<>();
+
+	/* Functions callable so far: name and number of parameters */
+	private final List<String> functionNames = new ArrayList<>();
+	private final List<Integer> functionArities = new ArrayList<>();
+
+	/* Classes declared so far: name, fields (own and inherited), method */
+	private final List<String> classNames = new ArrayList<>();
+	private final List<List<String>> classFields = new ArrayList<>();
+	private final List<String> classMethods = new ArrayList<>();
+
+	/* Objects in scope in the function being generated */
+	private List<String> objects;
+	private List<Integer> objectClasses;
+
+	private ProgramGenerator(Config config)
+	{
+		this.config = config;
+		this.random = new Random(config.seed);
+	}
+
+	private String fresh(String prefix)
+	{
+		return prefix + (names++);
+	}
+
+	private Program program()
+	{
+		Set<String> initializedGlobals = globals();
+		for (int c = 0; c < config.classes; c++) {
+			declareClass(c, initializedGlobals);
+		}
+		for (int f = 0; f < config.functions; f++) {
+			function(fresh("fn"), 1 + random.nextInt(2), initializedGlobals);
+		}
+		function("main", -1, initializedGlobals);
+
+		String expected = reports.isEmpty() ? "!OK" : String.join("\n", reports);
+		return new Program(out.toString(), expected);
+	}
+
+	/************************************************/
+	/* Globals, initialized in order; returns the   */
+	/* ones definitely initialized when main starts */
+	/************************************************/
+	private Set<String> globals()
+	{
+		Set<String> initialized = new HashSet<>();
+		for (int g = 0; g < config.globals; g++) {
+			String name = fresh("g");
+			Define global = new Define("int ", name, uninitialized() ? null : exp(globalNames, 1, false));
+			global.print(out, "");
+			global.flow(initialized, reports);
+			globalNames.add(name);
+		}
+		return initialized;
+	}
+
+	/*****************************************************/
+	/* Class c extends the previous class unless it      */
+	/* starts a new chain of inheritanceDepth + 1 classes */
+	/*****************************************************/
+	private void declareClass(int c, Set<String> initializedGlobals)
+	{
+		String name = fresh("C");
+		int parent = (c % (config.inheritanceDepth + 1) == 0) ? -1 : c - 1;
+		List<String> fields = new ArrayList<>();
+		if (parent >= 0) fields.addAll(classFields.get(parent));
+
+		out.append("class ").append(name);
+		if (parent >= 0) out.append(" extends ").append(classNames.get(parent));
+		out.append("\n{\n");
+		int own = 1 + random.nextInt(2);
+		for (int f = 0; f < own; f++) {
+			String field = fresh("f");
+			fields.add(field);
+			out.append("\tint ").append(field).append(";\n");
+		}
+
+		// The method sees the fields as variables, uninitialized on entry
+		String method = fresh("m");
+		List<String> visible = new ArrayList<>(globalNames);
+		visible.addAll(fields);
+		String param = fresh("p");
+		visible.add(param);
+		List<String> entry = new ArrayList<>(fields);
+		entry.add(param);
+		objects = new ArrayList<>();
+		objectClasses = new ArrayList<>();
+		List<Stmt> body = block(visible, entry, 1, true, false);
+
+		out.append("\tint ").append(method).append("(int ").append(param).append(")\n");
+		printBlock(out, "\t", body);
+		out.append("}\n");
+		flowBlock(body, new HashSet<>(initializedGlobals), reports);
+
+		classNames.add(name);
+		classFields.add(fields);
+		classMethods.add(method);
+	}
+
+	/**************************************************/
+	/* A function with the given number of parameters */
+	/* returning int, or main when arity is -1        */
+	/**************************************************/
+	private void function(String name, int arity, Set<String> initializedGlobals)
+	{
+		List<String> visible = new ArrayList<>(globalNames);
+		List<String> params = new ArrayList<>();
+		for (int p = 0; p < Math.max(arity, 0); p++) {
+			params.add(fresh("p"));
+		}
+		visible.addAll(params);
+		objects = new ArrayList<>();
+		objectClasses = new ArrayList<>();
+		List<Stmt> body = block(visible, params, 0, arity >= 0, true);
+
+		out.append(arity < 0 ? "void " : "int ").append(name).append("(");
+		for (int p = 0; p < params.size(); p++) {
+			if (p > 0) out.append(", ");
+			out.append("int ").append(params.get(p));
+		}
+		out.append(")\n");
+		printBlock(out, "", body);
+		flowBlock(body, new HashSet<>(initializedGlobals), reports);
+
+		if (arity >= 0) {
+			functionNames.add(name);
+			functionArities.add(arity);
+		}
+	}
+
+	/*************************************************/
+	/* A function or method body: assignments to the */
+	/* names uninitialized on entry (all but about   */
+	/* uninitializedDensity of them), declarations,  */
+	/* statements, then the return if any            */
+	/*************************************************/
+	private List<Stmt> block(List<String> visible, List<String> entry, int depth, boolean returns, boolean usesObjects)
+	{
+		List<Stmt> body = new ArrayList<>();
+		visible = new ArrayList<>(visible);
+		for (String name : entry) {
+			if (!uninitialized()) {
+				body.add(new Define("", name, new Exp(Integer.toString(random.nextInt(100)), List.of(), false)));
+			}
+		}
+		for (int v = 0; v < config.variables; v++) {
+			String name = fresh("v");
+			body.add(new Define("int ", name, uninitialized() ? null : exp(visible, 2, uninitialized())));
+			visible.add(name);
+		}
+		if (usesObjects && !classNames.isEmpty()) {
+			int c = random.nextInt(classNames.size());
+			String object = fresh("o");
+			body.add(new Define(classNames.get(c) + " ", object, new Exp("new " + classNames.get(c), List.of(), false)));
+			objects.add(object);
+			objectClasses.add(c);
+		}
+		body.addAll(statements(visible, depth));
+		if (returns) {
+			body.add(new Use("return %s;", exp(visible, 2, true)));
+		}
+		return body;
+	}
+
+	private List<Stmt> statements(List<String> visible, int depth)
+	{
+		List<Stmt> block = new ArrayList<>();
+		visible = new ArrayList<>(visible);
+		int count = 1 + random.nextInt(config.statements);
+		for (int s = 0; s < count; s++) {
+			int kind = random.nextInt(depth < config.nestingDepth ? 7 : 5);
+			switch (kind) {
+				case 0: {
+					String name = fresh("v");
+					block.add(new Define("int ", name, uninitialized() ? null : exp(visible, 2, uninitialized())));
+					visible.add(name);
+					break;
+				}
+				case 1:
+				case 2:
+					block.add(new Define("", pick(visible), exp(visible, 2, uninitialized())));
+					break;
+				case 3:
+					block.add(new Use("PrintInt(%s);", exp(visible, 2, true)));
+					break;
+				case 4:
+					if (!objects.isEmpty()) {
+						int o = random.nextInt(objects.size());
+						List<String> fields = classFields.get(objectClasses.get(o));
+						block.add(new Use(objects.get(o) + "." + pick(fields) + " := %s;", exp(visible, 2, true)));
+					} else {
+						block.add(new Use("PrintInt(%s);", exp(visible, 2, true)));
+					}
+					break;
+				case 5:
+					block.add(new If(exp(visible, 1, false),
+						statements(visible, depth + 1),
+						random.nextBoolean() ? statements(visible, depth + 1) : null));
+					break;
+				default:
+					block.add(new While(exp(visible, 1, false), statements(visible, depth + 1)));
+					break;
+			}
+		}
+		return block;
+	}
+
+	/*************************************************/
+	/* An int expression over the visible variables, */
+	/* constants and (when allowed) calls. A call's  */
+	/* result counts as uninitialized, so values     */
+	/* that are stored only call with probability    */
+	/* uninitializedDensity                          */
+	/*************************************************/
+	private Exp exp(List<String> visible, int depth, boolean allowCalls)
+	{
+		int kind = random.nextInt(10);
+		if (depth > 0 && kind < 3) {
+			Exp left = exp(visible, depth - 1, allowCalls);
+			Exp right = exp(visible, depth - 1, allowCalls);
+			List<String> reads = new ArrayList<>(left.reads);
+			reads.addAll(right.reads);
+			String op = OPERATORS[random.nextInt(OPERATORS.length)];
+			return new Exp(left.text + " " + op + " " + right.text, reads, left.calls || right.calls);
+		}
+		if (allowCalls && kind == 3 && !functionNames.isEmpty()) {
+			int f = random.nextInt(functionNames.size());
+			List<String> reads = new ArrayList<>();
+			StringBuilder text = new StringBuilder(functionNames.get(f)).append('(');
+			for (int a = 0; a < functionArities.get(f); a++) {
+				Exp arg = exp(visible, 0, false);
+				if (a > 0) text.append(", ");
+				text.append(arg.text);
+				reads.addAll(arg.reads);
+			}
+			return new Exp(text.append(')').toString(), reads, true);
+		}
+		if (allowCalls && kind == 4 && !objects.isEmpty()) {
+			int o = random.nextInt(objects.size());
+			Exp arg = exp(visible, 0, false);
+			String call = objects.get(o) + "." + classMethods.get(objectClasses.get(o)) + "(" + arg.text + ")";
+			return new Exp(call, arg.reads, true);
+		}
+		if (visible.isEmpty() || kind > 7) {
+			return new Exp(Integer.toString(random.nextInt(100)), List.of(), false);
+		}
+		String read = pick(visible);
+		return new Exp(read, List.of(read), false);
+	}
+
+	private boolean uninitialized()
+	{
+		return random.nextDouble() < config.uninitializedDensity;
+	}
+
+	private String pick(List<String> names)
+	{
+		return names.get(random.nextInt(names.size()));
+	}
+}
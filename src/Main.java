@@ -4,27 +4,260 @@ import java_cup.runtime.Symbol;
 import ast.*;
 import cfg.*;
 import ir.*;
+import symboltable.*;
+import temp.*;
+import source.SourceReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class Main
 {
+	/*********************************************************/
+	/* Usage:                                                */
+	/*   Main <input> <output>          compile one file     */
+	/*   Main --batch <inputs> <outdir> compile every file   */
+	/*        listed in <inputs> (one path per line), or     */
+	/*        every *.txt file if <inputs> is a directory;   */
+	/*        results go to <outdir>/<input file name>       */
+	/*   Main --daemon                  read jobs from stdin */
+	/*        ("<input> <output>" per line), answer each     */
+	/*        with "OK <output>" or "FAILED <output>"        */
+	/*                                                       */
+	/* Any mode may be prefixed with options:                */
+	/*   --dump <dir>     write the AST, every CFG and the   */
+	/*                    global symbol table in graphviz    */
+	/*                    dot format (per input file in      */
+	/*                    --batch and --daemon modes)        */
+	/*   --format <fmt>   plain (default): "!OK" or the      */
+	/*                    sorted variable names; json: one   */
+	/*                    JSON object per finding per line;  */
+	/*                    csv: a header, then one row per    */
+	/*                    finding. Structured records are    */
+	/*                    written as each function finishes  */
+	/*   --metrics <file> append one JSON line per input     */
+	/*                    with the wall time, allocated      */
+	/*                    bytes and counts of every phase;   */
+	/*                    phases are also JFR events         */
+	/*********************************************************/
+	static final String USAGE =
+		"usage: Main [--dump <dir>] [--format plain|json|csv] [--metrics <file>]" +
+		" (<input> <output> | --batch <inputs> <outdir> | --daemon)";
+
 	static public void main(String argv[])
+	{
+		Options options = new Options();
+		int next = 0;
+		try
+		{
+			while (next + 1 < argv.length && argv[next].startsWith("--") && options.set(argv[next], argv[next + 1]))
+			{
+				next += 2;
+			}
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			return;
+		}
+		argv = Arrays.copyOfRange(argv, next, argv.length);
+
+		try
+		{
+			options.openMetrics();
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+			return;
+		}
+
+		if (argv.length == 3 && argv[0].equals("--batch"))
+		{
+			runBatch(argv[1], argv[2], options);
+		}
+		else if (argv.length == 1 && argv[0].equals("--daemon"))
+		{
+			runDaemon(options);
+		}
+		else
+		{
+			compile(argv[0], argv[1], options);
+		}
+
+		if (options.metricsOut != null) options.metricsOut.close();
+	}
+
+	/*************************************/
+	/* Options shared by all the modes   */
+	/*************************************/
+	static class Options
+	{
+		File dumpDir = null;
+		String format = "plain";
+		File metricsFile = null;
+		/* Shared by every input; writes are synchronized on it */
+		PrintWriter metricsOut = null;
+
+		/* Apply "--name value"; false if the name is not an option, */
+		/* IllegalArgumentException if the value is not valid for it */
+		boolean set(String name, String value)
+		{
+			switch (name)
+			{
+				case "--dump":    dumpDir = new File(value); return true;
+				case "--format":  format = checkFormat(value); return true;
+				case "--metrics": metricsFile = new File(value); return true;
+				default:          return false;
+			}
+		}
+
+		static String checkFormat(String value)
+		{
+			switch (value)
+			{
+				case "plain": case "json": case "csv": return value;
+				default: throw new IllegalArgumentException("unknown output format '" + value + "' (expected plain, json or csv)");
+			}
+		}
+
+		void openMetrics() throws IOException
+		{
+			if (metricsFile != null)
+			{
+				metricsOut = new PrintWriter(new BufferedWriter(new FileWriter(metricsFile, true)));
+			}
+		}
+
+		/*******************************************/
+		/* Options for one input of a multi-file   */
+		/* mode: dumps of different inputs go to   */
+		/* different directories                   */
+		/*******************************************/
+		Options forInput(String inputFileName)
+		{
+			Options copy = new Options();
+			copy.format = format;
+			copy.metricsFile = metricsFile;
+			copy.metricsOut = metricsOut;
+			copy.dumpDir = (dumpDir == null) ? null : new File(dumpDir, new File(inputFileName).getName());
+			return copy;
+		}
+	}
+
+	/*********************************************/
+	/* Compile every input of a batch in one JVM */
+	/* Compilations share no state, so they run  */
+	/* on a pool with one thread per core        */
+	/*********************************************/
+	static void runBatch(String inputs, String outputDirName, Options options)
+	{
+		List<File> inputFiles = new ArrayList<>();
+		File inputsFile = new File(inputs);
+
+		try
+		{
+			if (inputsFile.isDirectory())
+			{
+				File[] files = inputsFile.listFiles((dir, name) -> name.endsWith(".txt"));
+				if (files != null)
+				{
+					Arrays.sort(files);
+					inputFiles.addAll(Arrays.asList(files));
+				}
+			}
+			else
+			{
+				BufferedReader reader = new BufferedReader(new FileReader(inputsFile));
+				String line;
+				while ((line = reader.readLine()) != null)
+				{
+					if (!line.trim().isEmpty()) inputFiles.add(new File(line.trim()));
+				}
+				reader.close();
+			}
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+			return;
+		}
+
+		File outputDir = new File(outputDirName);
+		outputDir.mkdirs();
+		ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		for (File input : inputFiles)
+		{
+			String outputFileName = new File(outputDir, input.getName()).getPath();
+			pool.submit(() -> compile(input.getPath(), outputFileName, options.forInput(input.getPath())));
+		}
+		pool.shutdown();
+		try
+		{
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/*************************************************/
+	/* Serve compile jobs from stdin until it closes */
+	/*************************************************/
+	static void runDaemon(Options options)
+	{
+		try
+		{
+			BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				String[] job = line.trim().split("\\s+");
+				if (job.length != 2)
+				{
+					System.out.println("FAILED " + line.trim());
+				}
+				else
+				{
+					System.out.println((compile(job[0], job[1], options.forInput(job[0])) ? "OK " : "FAILED ") + job[1]);
+				}
+				System.out.flush();
+			}
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/****************************************************/
+	/* Compile one input file into one output file.     */
+	/* Returns false if the compiler itself failed (a   */
+	/* syntax or semantic error in the input is a       */
+	/* normal result)                                   */
+	/****************************************************/
+	static boolean compile(String inputFileName, String outputFileName, Options options)
 	{
 		Lexer l;
 		Parser p;
 		Symbol s;
 		AstDecList ast;
-		FileReader fileReader;
-		PrintWriter fileWriter;
-		String inputFileName = argv[0];
-		String outputFileName = argv[1];
+		Reader fileReader = null;
+		PrintWriter fileWriter = null;
+		CompilationContext ctx = new CompilationContext(options.dumpDir);
+		metrics.CompilerMetrics metrics = new metrics.CompilerMetrics(inputFileName, options.metricsOut != null);
 
 		try
 		{
 			/********************************/
 			/* [1] Initialize a file reader */
 			/********************************/
-			fileReader = new FileReader(inputFileName);
+			fileReader = SourceReader.open(inputFileName);
 
 			/********************************/
 			/* [2] Initialize a file writer */
@@ -35,61 +268,195 @@ public class Main
 			/* [3] Initialize a new lexer */
 			/******************************/
 			l = new Lexer(fileReader);
+			l.setNamePool(ctx.getNames());
 
 			/*******************************/
 			/* [4] Initialize a new parser */
 			/*******************************/
 			p = new Parser(l, fileWriter);
+			p.measureLexer = metrics.isEnabled();
 
 			/***********************************/
 			/* [5] 3 ... 2 ... 1 ... Parse !!! */
+			/*     (lexing is measured inside  */
+			/*     the parse, and reported as  */
+			/*     its own phase)              */
 			/***********************************/
+			AstNode.takeCreatedCount();
+			metrics.begin("parse");
 			ast = (AstDecList) p.parse().value;
+			int astNodes = AstNode.takeCreatedCount();
+			metrics.record("lex", p.lexNanos, p.lexBytes, p.tokens);
+			metrics.end(astNodes, -p.lexNanos, -p.lexBytes);
+			metrics.count("tokens", p.tokens);
+			metrics.count("astNodes", astNodes);
+			if (ctx.isDiagnostics()) ast.printMe(ctx);
 
 			/**************************/
 			/* [6] Semant the AST ... */
 			/**************************/
-			ast.semantMe();
+			metrics.begin("semantMe");
+			ast.semantMe(ctx);
+			metrics.end(astNodes);
+			if (ctx.isDiagnostics()) ctx.getSymbolTable().printMe(ctx.getDumpDir());
 
 			/**********************/
 			/* [7] IR the AST ... */
 			/**********************/
-			ast.irMe();
-
-			/*************************************/
-			/* [8] Build Control Flow Graph    */
-			/*************************************/
-			List<IrCommand> irList = Ir.getInstance().getAllCommands();
-			ControlFlowGraph cfg = ControlFlowGraph.build(irList);
-			
-			/*************************************/
-			/* [9] Data Flow Analysis          */
-			/*************************************/
-			dfa.UninitializedAnalyzer analyzer = new dfa.UninitializedAnalyzer(cfg);
-			java.util.Set<String> uninitialized = analyzer.analyze();
-
-			if (uninitialized.isEmpty()) {
-				fileWriter.print("!OK");
-			} else {
-				fileWriter.print(String.join("\n", uninitialized));
+			metrics.begin("irMe");
+			ast.irMe(ctx);
+			metrics.end(ctx.getIr().size());
+			metrics.count("irCommands", ctx.getIr().size());
+
+			/*******************************************/
+			/* [8] Build a Control Flow Graph for the  */
+			/*     globals and for every function      */
+			/*******************************************/
+			metrics.begin("cfg");
+			PackedIr packed = PackedIr.of(ctx.getIr().getAllCommands());
+			List<ControlFlowGraph> cfgs = ControlFlowGraph.buildPerFunction(packed);
+			int blocks = 0;
+			int edges = 0;
+			for (ControlFlowGraph cfg : cfgs)
+			{
+				blocks += cfg.getBlocks().size();
+				for (BasicBlock block : cfg.getBlocks()) edges += block.getSuccessors().size();
 			}
+			metrics.end(blocks);
+			metrics.count("cfgs", cfgs.size());
+			metrics.count("blocks", blocks);
+			metrics.count("edges", edges);
+			if (ctx.isDiagnostics()) dumpCfgs(cfgs, ctx.getVariables(), ctx.getDumpDir());
 
-			/**************************/
-			/* [10] Close output file */
-			/**************************/
-			fileWriter.close();
+			/*******************************************/
+			/* [9] Data Flow Analysis (in parallel     */
+			/*     across functions)                   */
+			/*******************************************/
+			dfa.ProgramAnalyzer analyzer = new dfa.ProgramAnalyzer(cfgs, ctx.getVariables());
+			analyzer.setMeasureAllocation(metrics.isEnabled());
+			metrics.begin("dfa");
+
+			if (options.format.equals("plain"))
+			{
+				java.util.Set<String> uninitialized = analyzer.analyze();
 
-			/*************************************/
-			/* [11] Finalize AST GRAPHIZ DOT file */
-			/*************************************/
-			AstGraphviz.getInstance().finalizeFile();
+				if (uninitialized.isEmpty()) {
+					fileWriter.print("!OK");
+				} else {
+					fileWriter.print(String.join("\n", uninitialized));
+				}
+			}
+			else
+			{
+				/*******************************************/
+				/* Structured records, streamed per        */
+				/* function as the analysis finishes       */
+				/*******************************************/
+				report.FindingWriter findingWriter = report.FindingWriter.forFormat(options.format, fileWriter);
+				findingWriter.begin();
+				analyzer.setFindingListener(findingWriter);
+				analyzer.analyze();
+				findingWriter.end();
+			}
+
+			if (metrics.isEnabled())
+			{
+				long visits = 0;
+				long sweeps = 0;
+				long variables = 0;
+				long localTemps = 0;
+				long outChanges = 0;
+				for (dfa.UninitializedAnalyzer function : analyzer.getAnalyzers())
+				{
+					dfa.DfaEngine engine = function.getEngine();
+					visits += engine.getBlockVisits();
+					sweeps += engine.getSweeps();
+					outChanges += engine.getOutChanges();
+					variables += engine.getNumbering().size();
+					localTemps += engine.getNumbering().localCount();
+
+					/*****************************************/
+					/* Convergence cost of every CFG, so a   */
+					/* slow function stands out of the sums  */
+					/*****************************************/
+					java.util.Map<String, Long> counts = new java.util.LinkedHashMap<>();
+					counts.put("blocks", (long) function.getCfg().getBlocks().size());
+					counts.put("variables", (long) engine.getNumbering().size());
+					counts.put("blockLocalTemps", (long) engine.getNumbering().localCount());
+					counts.put("visits", (long) engine.getBlockVisits());
+					counts.put("outChanges", (long) engine.getOutChanges());
+					counts.put("sweeps", (long) engine.getSweeps());
+					metrics.function(function.getCfg().getName(), counts);
+				}
+				metrics.end(visits, 0, analyzer.getWorkerAllocatedBytes());
+				metrics.count("dfaVariables", variables);
+				metrics.count("dfaBlockLocalTemps", localTemps);
+				metrics.count("dfaBlockVisits", visits);
+				metrics.count("dfaOutChanges", outChanges);
+				metrics.count("dfaSweeps", sweeps);
+			}
+
+			return true;
+		}
+
+		catch (Parser.SyntaxError e)
+		{
+			/*********************************************/
+			/* The parser already wrote ERROR to output  */
+			/*********************************************/
+			return true;
+		}
+
+		catch (semantic.SemanticException e)
+		{
+			e.printStackTrace();
+			return true;
 		}
 
 		catch (Exception e)
 		{
 			e.printStackTrace();
+			return false;
 		}
-	}
-}
 
+		finally
+		{
+			/****************************************/
+			/* [10] Close input, output and dumps   */
+			/****************************************/
+			ctx.close();
+			if (fileWriter != null) fileWriter.close();
+			if (metrics.isEnabled())
+			{
+				synchronized (options.metricsOut)
+				{
+					metrics.writeJson(options.metricsOut);
+				}
+			}
+			try
+			{
+				if (fileReader != null) fileReader.close();
+			}
+			catch (IOException e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
 
+	/*************************************************/
+	/* Diagnostics: one dot file per CFG, numbered   */
+	/* in program order (globals first)              */
+	/*************************************************/
+	static void dumpCfgs(List<ControlFlowGraph> cfgs, IrVariables variables, File dumpDir) throws IOException
+	{
+		for (int i = 0; i < cfgs.size(); i++)
+		{
+			String name = cfgs.get(i).getName().replaceAll("[^A-Za-z0-9_]", "");
+			File file = new File(dumpDir, String.format("CFG_%d_%s_IN_GRAPHVIZ_DOT_FORMAT.txt", i, name));
+			PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+			cfgs.get(i).writeDot(writer, variables);
+			writer.close();
+		}
+	}
+}
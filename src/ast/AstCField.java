@@ -5,6 +5,6 @@ import semantic.SemanticException;
 
 public abstract class AstCField extends AstNode {
 	@Override
-	public abstract Type semantMe() throws SemanticException;
+	public abstract Type semantMe(CompilationContext ctx) throws SemanticException;
 }
 
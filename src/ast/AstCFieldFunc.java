@@ -8,33 +8,32 @@ public class AstCFieldFunc extends AstCField {
 	public AstDecFunc funcDec;
 
 	public AstCFieldFunc(AstDecFunc funcDec) {
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.funcDec = funcDec;
 		// Use funcDec's line number for better error reporting
 		this.lineNumber = funcDec.lineNumber;
 	}
 
-	public void printMe() {
-		System.out.println("CLASS FIELD FUNC");
+	public void printMe(CompilationContext ctx) {
+		ctx.getAstText().println("CLASS FIELD FUNC");
 		if (funcDec != null)
-			funcDec.printMe();
+			funcDec.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "CFIELD\nFUNC");
+		ctx.getGraphviz().logNode(this, "CFIELD\nFUNC");
 		if (funcDec != null)
-			AstGraphviz.getInstance().logEdge(serialNumber, funcDec.serialNumber);
+			ctx.getGraphviz().logEdge(this, funcDec);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException {
-		return funcDec.semantMe();
+	public Type semantMe(CompilationContext ctx) throws SemanticException {
+		return funcDec.semantMe(ctx);
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for method body
 		if (funcDec != null) {
-			funcDec.irMe();
+			funcDec.irMe(ctx);
 		}
 		return null;
 	}
@@ -9,45 +9,44 @@ public class AstCFieldList extends AstNode {
 	public AstCFieldList tail;
 
 	public AstCFieldList(AstCField head, AstCFieldList tail) {
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.head = head;
 		this.tail = tail;
 	}
 
-	public void printMe() {
-		System.out.println("CLASS FIELD LIST");
+	public void printMe(CompilationContext ctx) {
+		ctx.getAstText().println("CLASS FIELD LIST");
 		if (head != null)
-			head.printMe();
+			head.printMe(ctx);
 		if (tail != null)
-			tail.printMe();
+			tail.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "CFIELD\nLIST");
+		ctx.getGraphviz().logNode(this, "CFIELD\nLIST");
 		if (head != null)
-			AstGraphviz.getInstance().logEdge(serialNumber, head.serialNumber);
+			ctx.getGraphviz().logEdge(this, head);
 		if (tail != null)
-			AstGraphviz.getInstance().logEdge(serialNumber, tail.serialNumber);
+			ctx.getGraphviz().logEdge(this, tail);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException {
+	public Type semantMe(CompilationContext ctx) throws SemanticException {
 		if (head != null)
-			head.semantMe();
+			head.semantMe(ctx);
 		if (tail != null)
-			tail.semantMe();
+			tail.semantMe(ctx);
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for head field (methods only)
 		if (head != null) {
-			head.irMe();
+			head.irMe(ctx);
 		}
 		
 		// Recursively generate for tail
 		if (tail != null) {
-			tail.irMe();
+			tail.irMe(ctx);
 		}
 		
 		return null;
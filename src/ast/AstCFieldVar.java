@@ -8,29 +8,28 @@ public class AstCFieldVar extends AstCField {
 	public AstDecVar varDec;
 
 	public AstCFieldVar(AstDecVar varDec) {
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.varDec = varDec;
 		// Use varDec's line number for better error reporting
 		this.lineNumber = varDec.lineNumber;
 	}
 
-	public void printMe() {
-		System.out.println("CLASS FIELD VAR");
+	public void printMe(CompilationContext ctx) {
+		ctx.getAstText().println("CLASS FIELD VAR");
 		if (varDec != null)
-			varDec.printMe();
+			varDec.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "CFIELD\nVAR");
+		ctx.getGraphviz().logNode(this, "CFIELD\nVAR");
 		if (varDec != null)
-			AstGraphviz.getInstance().logEdge(serialNumber, varDec.serialNumber);
+			ctx.getGraphviz().logEdge(this, varDec);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException {
-		return varDec.semantMe();
+	public Type semantMe(CompilationContext ctx) throws SemanticException {
+		return varDec.semantMe(ctx);
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Field variable declarations don't generate IR (only methods do)
 		return null;
@@ -6,5 +6,5 @@ import semantic.SemanticException;
 public abstract class AstDec extends AstNode
 {
     @Override
-    public abstract Type semantMe() throws SemanticException;
+    public abstract Type semantMe(CompilationContext ctx) throws SemanticException;
 }
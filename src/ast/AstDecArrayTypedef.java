@@ -12,31 +12,29 @@ public class AstDecArrayTypedef extends AstDec
 
 	public AstDecArrayTypedef(String name, String elementTypeName)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.name = name;
 		this.elementTypeName = elementTypeName;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.format("AST NODE ARRAY TYPEDEF: %s = %s[]\n", name, elementTypeName);
-		AstGraphviz.getInstance().logNode(serialNumber, 
-			String.format("ARRAY\n%s=%s[]", name, elementTypeName));
+		ctx.getAstText().format("AST NODE ARRAY TYPEDEF: %s = %s[]\n", name, elementTypeName);
+		ctx.getGraphviz().logNode(this, String.format("ARRAY\n%s=%s[]", name, elementTypeName));
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.1: Array definitions may appear only in global scope
-		if (!SymbolTable.getInstance().isGlobalScope())
+		if (!ctx.getSymbolTable().isGlobalScope())
 			throw new SemanticException(lineNumber, "array typedef must be at global scope");
 
 		// Check name not already used in current scope (PDF 2.7)
-		if (SymbolTable.getInstance().findInCurrentScope(name) != null)
+		if (ctx.getSymbolTable().findInCurrentScope(name) != null)
 			throw new SemanticException(lineNumber, "type '" + name + "' already defined");
 
 		// Check element type exists and is not void
-		Type elementType = SymbolTable.getInstance().find(elementTypeName);
+		Type elementType = ctx.getSymbolTable().find(elementTypeName);
 		if (elementType == null)
 			throw new SemanticException(lineNumber, "element type '" + elementTypeName + "' not found");
 		if (elementType.isVoid())
@@ -44,13 +42,13 @@ public class AstDecArrayTypedef extends AstDec
 
 		// Create and enter array type
 		TypeArray arrayType = new TypeArray(name, elementType);
-		SymbolTable.getInstance().enter(name, arrayType);
+		ctx.getSymbolTable().enter(name, arrayType);
 
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Type declarations don't generate IR
 		return null;
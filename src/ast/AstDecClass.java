@@ -11,65 +11,60 @@ public class AstDecClass extends AstDec {
 	public AstCFieldList dataMembers;
 
 	public AstDecClass(String name, String parentName, AstCFieldList dataMembers, int line) {
-		serialNumber = AstNodeSerialNumber.getFresh();
-		this.lineNumber = line;  // Override the default staticLine
+		this.lineNumber = line;  // Override the default current line
 		this.name = name;
 		this.parentName = parentName;
 		this.dataMembers = dataMembers;
 	}
 
 	@Override
-	public void printMe() {
-		System.out.format("CLASS DEC = %s", name);
+	public void printMe(CompilationContext ctx) {
+		ctx.getAstText().format("CLASS DEC = %s", name);
 		if (parentName != null)
-			System.out.format(" extends %s", parentName);
-		System.out.println();
+			ctx.getAstText().format(" extends %s", parentName);
+		ctx.getAstText().println();
 		
 		if (dataMembers != null)
-			dataMembers.printMe();
+			dataMembers.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber,
-			String.format("CLASS\n%s", name));
+		ctx.getGraphviz().logNode(this, String.format("CLASS\n%s", name));
 		if (dataMembers != null)
-			AstGraphviz.getInstance().logEdge(serialNumber, dataMembers.serialNumber);
+			ctx.getGraphviz().logEdge(this, dataMembers);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException {
+	public Type semantMe(CompilationContext ctx) throws SemanticException {
 		// PDF 2.1: Class definitions may appear only in global scope
-		if (!SymbolTable.getInstance().isGlobalScope())
+		if (!ctx.getSymbolTable().isGlobalScope())
 			throw new SemanticException(lineNumber, "class can only be defined at global scope");
 
 		// Check class is not already declared in current scope (PDF 2.7)
-		if (SymbolTable.getInstance().findInCurrentScope(name) != null)
+		if (ctx.getSymbolTable().findInCurrentScope(name) != null)
 			throw new SemanticException(lineNumber, "class '" + name + "' already defined");
 
 		// PDF 2.2: A class can extend only previously defined classes
 		TypeClass parentType = null;
-		TypeClassVarDecList membersList = new TypeClassVarDecList(null, null);
 		
 		if (parentName != null) {
-			Type t = SymbolTable.getInstance().find(parentName);
+			Type t = ctx.getSymbolTable().find(parentName);
 			if (t == null || !t.isClass())
 				throw new SemanticException(lineNumber, "parent class '" + parentName + "' not found");
 			parentType = (TypeClass) t;
-			// Inherit parent's members
-			if (parentType.dataMembers != null)
-				membersList = parentType.dataMembers.inherit();
 		}
 
-		// Create class type and enter BEFORE processing members (for self-reference)
-		TypeClass classType = new TypeClass(parentType, name, membersList);
-		SymbolTable.getInstance().enter(name, classType);
+		// Create class type (inheriting the parent's member tables) and
+		// enter it BEFORE processing members (for self-reference)
+		TypeClass classType = new TypeClass(parentType, name);
+		ctx.getSymbolTable().enter(name, classType);
 
 		// Begin class scope
-		SymbolTable.getInstance().beginClassScope(classType);
+		ctx.getSymbolTable().beginClassScope(classType);
 
 		// Process each data member
 		for (AstCFieldList cl = dataMembers; cl != null; cl = cl.tail) {
 			if (cl.head == null) continue;
 			
-			Type memberType = cl.head.semantMe();
+			Type memberType = cl.head.semantMe(ctx);
 			if (memberType == null)
 				throw new SemanticException(cl.head.lineNumber, "invalid class member");
 
@@ -83,7 +78,7 @@ public class AstDecClass extends AstDec {
 				throw new SemanticException(cl.head.lineNumber, "unknown class member type");
 
 			// PDF 2.2: Check for redeclaration within same class (not inherited)
-			TypeClassVarDec existing = membersList.find(memberName);
+			TypeClassVarDec existing = classType.findMember(memberName);
 			if (existing != null && !existing.inherited)
 				throw new SemanticException(cl.head.lineNumber, "'" + memberName + "' already declared in class");
 
@@ -111,21 +106,24 @@ public class AstDecClass extends AstDec {
 
 			// Add new member
 			TypeClassVarDec newMember = new TypeClassVarDec(memberType, memberName);
-			membersList.insert(newMember);
+			classType.addMember(newMember);
 		}
 
+		// Freeze the member tables and layout
+		classType.seal();
+
 		// End class scope
-		SymbolTable.getInstance().endClassScope();
+		ctx.getSymbolTable().endClassScope();
 
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for methods in the class
 		if (dataMembers != null) {
-			dataMembers.irMe();
+			dataMembers.irMe(ctx);
 		}
 		return null;
 	}
@@ -23,7 +23,6 @@ public class AstDecFunc extends AstDec
 		AstStmtList body,
 		int line)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.lineNumber = line;  // Override default line number
 		this.returnTypeName = returnTypeName;
 		this.name = name;
@@ -34,35 +33,33 @@ public class AstDecFunc extends AstDec
 	/************************************************************/
 	/* The printing message for a function declaration AST node */
 	/************************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/*************************************************/
 		/* AST NODE TYPE = AST NODE FUNCTION DECLARATION */
 		/*************************************************/
-		System.out.format("FUNC(%s):%s\n",name,returnTypeName);
+		ctx.getAstText().format("FUNC(%s):%s\n",name,returnTypeName);
 
 		/***************************************/
 		/* RECURSIVELY PRINT params + body ... */
 		/***************************************/
-		if (params != null) params.printMe();
-		if (body   != null) body.printMe();
+		if (params != null) params.printMe(ctx);
+		if (body   != null) body.printMe(ctx);
 		
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			String.format("FUNC(%s)\n:%s\n",name,returnTypeName));
+		ctx.getGraphviz().logNode(this, String.format("FUNC(%s)\n:%s\n",name,returnTypeName));
 		
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		if (params != null) AstGraphviz.getInstance().logEdge(serialNumber,params.serialNumber);
-		if (body   != null) AstGraphviz.getInstance().logEdge(serialNumber,body.serialNumber);
+		if (params != null) ctx.getGraphviz().logEdge(this, params);
+		if (body   != null) ctx.getGraphviz().logEdge(this, body);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		Type t;
 		Type returnType = null;
@@ -71,13 +68,13 @@ public class AstDecFunc extends AstDec
 		/************************************/
 		/* [0] Check function name is unique */
 		/************************************/
-		if (SymbolTable.getInstance().findInCurrentScope(name) != null)
+		if (ctx.getSymbolTable().findInCurrentScope(name) != null)
 			throw new SemanticException(lineNumber, "function '" + name + "' already declared");
 
 		/************************/
 		/* [1] Check return type */
 		/************************/
-		returnType = SymbolTable.getInstance().find(returnTypeName);
+		returnType = ctx.getSymbolTable().find(returnTypeName);
 		if (returnType == null)
 			throw new SemanticException(lineNumber, "return type '" + returnTypeName + "' does not exist");
 
@@ -93,7 +90,7 @@ public class AstDecFunc extends AstDec
 			paramNames.add(it.head.name);
 			
 			// Check parameter type exists and is not void
-			Type paramType = SymbolTable.getInstance().find(it.head.type);
+			Type paramType = ctx.getSymbolTable().find(it.head.type);
 			if (paramType == null)
 				throw new SemanticException(it.head.lineNumber, "parameter type '" + it.head.type + "' does not exist");
 			if (paramType.isVoid())
@@ -104,52 +101,53 @@ public class AstDecFunc extends AstDec
 		/* [3] Build params type list                    */
 		/*************************************************/
 		if (params != null) {
-			type_list = params.toTypeList();
+			type_list = params.toTypeList(ctx);
 		} else {
 			type_list = null;
 		}
 
 		TypeFunction funcType = new TypeFunction(returnType, name, type_list);
-		SymbolTable.getInstance().enter(name, funcType);
+		ctx.getSymbolTable().enter(name, funcType);
 
 		/*******************************************/
 		/* [4] Begin Function Scope (tracks return) */
 		/*******************************************/
-		SymbolTable.getInstance().beginFuncScope(funcType);
+		ctx.getSymbolTable().beginFuncScope(funcType);
 
 		/*************************************/
 		/* [5] Enter params into function scope */
 		/*************************************/
 		for (AstTypeNameList it = params; it != null; it = it.tail)
 		{
-			t = SymbolTable.getInstance().find(it.head.type);
-			SymbolTable.getInstance().enter(it.head.name, t);
+			t = ctx.getSymbolTable().find(it.head.type);
+			ctx.getSymbolTable().enter(it.head.name, t);
+			ctx.getSymbolTable().findEntry(it.head.name).symbolId = ctx.getVariables().declare(it.head.name);
 		}
 
 		/*******************/
 		/* [6] Semant Body */
 		/*******************/
 		if (body != null)
-			body.semantMe();
+			body.semantMe(ctx);
 
 		/*****************/
 		/* [7] End Scope */
 		/*****************/
-		SymbolTable.getInstance().endFuncScope();
+		ctx.getSymbolTable().endFuncScope();
 
 		return funcType;		
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Emit function entry label
-		String funcLabel = IrCommand.getFreshLabel("func_" + name);
-		Ir.getInstance().AddIrCommand(new IrCommandLabel(funcLabel));
+		String funcLabel = ctx.getIr().getFreshLabel("func_" + name);
+		ctx.getIr().AddIrCommand(new IrCommandLabel(funcLabel, name));
 		
 		// Generate IR for function body
 		if (body != null) {
-			body.irMe();
+			body.irMe(ctx);
 		}
 		
 		// Implicit return for void functions (if no explicit return at end)
@@ -17,11 +17,6 @@ public class AstDecList extends AstNode
 	/******************/
 	public AstDecList(AstDec head, AstDecList tail)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		// if (tail != null) System.out.print("====================== decList -> dec decList\n");
 		// if (tail == null) System.out.print("====================== decList -> dec\n");
 		this.head = head;
@@ -31,54 +26,52 @@ public class AstDecList extends AstNode
 	/********************************************************/
 	/* The printing message for a declaration list AST node */
 	/********************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/********************************/
 		/* AST NODE TYPE = AST DEC LIST */
 		/********************************/
-		System.out.print("AST NODE DEC LIST\n");
+		ctx.getAstText().print("AST NODE DEC LIST\n");
 
 		/*************************************/
 		/* RECURSIVELY PRINT HEAD + TAIL ... */
 		/*************************************/
-		if (head != null) head.printMe();
-		if (tail != null) tail.printMe();
+		if (head != null) head.printMe(ctx);
+		if (tail != null) tail.printMe(ctx);
 
 		/**********************************/
 		/* PRINT to AST GRAPHVIZ DOT file */
 		/**********************************/
-		AstGraphviz.getInstance().logNode(
-				serialNumber,
-			"DEC\nLIST\n");
+		ctx.getGraphviz().logNode(this, "DEC\nLIST\n");
 				
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		if (head != null) AstGraphviz.getInstance().logEdge(serialNumber,head.serialNumber);
-		if (tail != null) AstGraphviz.getInstance().logEdge(serialNumber,tail.serialNumber);
+		if (head != null) ctx.getGraphviz().logEdge(this, head);
+		if (tail != null) ctx.getGraphviz().logEdge(this, tail);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		/*************************************/
 		/* RECURSIVELY SEMANT HEAD + TAIL ... */
 		/*************************************/
-		if (head != null) head.semantMe();
-		if (tail != null) tail.semantMe();
+		if (head != null) head.semantMe(ctx);
+		if (tail != null) tail.semantMe(ctx);
 
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 
 		// PASS 1: Generate IR for ALL global variable initializations
 		AstDecList curr = this;
 		while (curr != null) {
 			if (curr.head instanceof AstDecVar) {
-				curr.head.irMe();
+				curr.head.irMe(ctx);
 			}
 			curr = curr.tail;
 		}
@@ -89,7 +82,7 @@ public class AstDecList extends AstNode
 			if (curr.head instanceof AstDecFunc) {
 				AstDecFunc func = (AstDecFunc) curr.head;
 				if (func.name.equals("main")) {
-					func.irMe();
+					func.irMe(ctx);
 				}
 			}
 			curr = curr.tail;
@@ -102,11 +95,11 @@ public class AstDecList extends AstNode
 				if (curr.head instanceof AstDecFunc) {
 					AstDecFunc func = (AstDecFunc) curr.head;
 					if (!func.name.equals("main")) {
-						curr.head.irMe();
+						curr.head.irMe(ctx);
 					}
 				} else {
 					// Classes, typedefs, etc.
-					curr.head.irMe();
+					curr.head.irMe(ctx);
 				}
 			}
 			curr = curr.tail;
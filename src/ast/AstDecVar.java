@@ -19,18 +19,17 @@ public class AstDecVar extends AstDec {
 	/*****************************************************/
 	private SymbolTableEntry entry;
 
-	public String getUniqueName() {
-		if (entry != null) {
-			return name + "_" + entry.getOffset();
-		}
-		return name;
+	/* IR variable id, assigned when the variable is declared */
+	private int symbolId = IrVariables.NONE;
+
+	public int getSymbolId() {
+		return symbolId;
 	}
 
 	/******************/
 	/* CONSTRUCTOR(S) */
 	/******************/
 	public AstDecVar(String type, String name, AstExp initialValue, int line) {
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.lineNumber = line;  // Override default line number
 		this.type = type;
 		this.name = name;
@@ -40,40 +39,38 @@ public class AstDecVar extends AstDec {
 	/************************************************************/
 	/* The printing message for a variable declaration AST node */
 	/************************************************************/
-	public void printMe() {
+	public void printMe(CompilationContext ctx) {
 		/****************************************/
 		/* AST NODE TYPE = AST VAR DECLARATION */
 		/***************************************/
 		if (initialValue != null)
-			System.out.format("VAR-DEC(%s):%s := initialValue\n", name, type);
+			ctx.getAstText().format("VAR-DEC(%s):%s := initialValue\n", name, type);
 		if (initialValue == null)
-			System.out.format("VAR-DEC(%s):%s                \n", name, type);
+			ctx.getAstText().format("VAR-DEC(%s):%s                \n", name, type);
 
 		/**************************************/
 		/* RECURSIVELY PRINT initialValue ... */
 		/**************************************/
 		if (initialValue != null)
-			initialValue.printMe();
+			initialValue.printMe(ctx);
 
 		/**********************************/
 		/* PRINT to AST GRAPHVIZ DOT file */
 		/**********************************/
-		AstGraphviz.getInstance().logNode(
-				serialNumber,
-				String.format("VAR\nDEC(%s)\n:%s", name, type));
+		ctx.getGraphviz().logNode(this, String.format("VAR\nDEC(%s)\n:%s", name, type));
 
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
 		if (initialValue != null)
-			AstGraphviz.getInstance().logEdge(serialNumber, initialValue.serialNumber);
+			ctx.getGraphviz().logEdge(this, initialValue);
 
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException {
+	public Type semantMe(CompilationContext ctx) throws SemanticException {
 		// 1. Check type exists
-		Type t = SymbolTable.getInstance().find(type);
+		Type t = ctx.getSymbolTable().find(type);
 		if (t == null)
 			throw new SemanticException(lineNumber, "type '" + type + "' does not exist");
 
@@ -82,33 +79,36 @@ public class AstDecVar extends AstDec {
 			throw new SemanticException(lineNumber, "variable cannot be declared with type void");
 
 		// 2. Check name does not already exist in the current scope
-		if (SymbolTable.getInstance().findInCurrentScope(name) != null)
+		if (ctx.getSymbolTable().findInCurrentScope(name) != null)
 			throw new SemanticException(lineNumber, "variable '" + name + "' already declared in this scope");
 
 		// 3. Check initial value (if exists)
 		if (initialValue != null) {
-			Type initType = initialValue.semantMe();
+			Type initType = initialValue.semantMe(ctx);
 			
 			if (!TypeUtils.canAssignTo(initType, t))
 				throw new SemanticException(lineNumber, "type mismatch in variable initialization");
 		}
 
 		// 5. Enter variable into symbol table
-		SymbolTable.getInstance().enter(name, t);
+		ctx.getSymbolTable().enter(name, t);
 		
-		// Save entry for IR generation
-		entry = SymbolTable.getInstance().findEntry(name);
+		// Give the declaration its IR variable id; uses find it through the entry
+		entry = ctx.getSymbolTable().findEntry(name);
+		symbolId = ctx.getVariables().declare(name);
+		if (entry != null)
+			entry.symbolId = symbolId;
 
 		return t;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Only generate IR if variable has initializer
 		if (initialValue != null) {
-			Temp initTemp = initialValue.irMe();
-			Ir.getInstance().AddIrCommand(new IrCommandStore(getUniqueName(), initTemp));
+			Temp initTemp = initialValue.irMe(ctx);
+			ctx.getIr().AddIrCommand(new IrCommandStore(symbolId, initTemp), lineNumber);
 		}
 		// No initializer → variable stays uninitialized (important for dataflow analysis!)
 		return null;
@@ -6,7 +6,7 @@ import semantic.SemanticException;
 public abstract class AstExp extends AstNode
 {
 	@Override
-	public abstract Type semantMe() throws SemanticException;
+	public abstract Type semantMe(CompilationContext ctx) throws SemanticException;
 
 	/**
 	 * Try to evaluate this expression as a constant integer.
@@ -25,11 +25,6 @@ public class AstExpBinop extends AstExp
 	/******************/
 	public AstExpBinop(AstExp left, AstExp right, int op)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		/***************************************/
 		/* PRINT CORRESPONDING DERIVATION RULE */
 		/***************************************/
@@ -46,41 +41,39 @@ public class AstExpBinop extends AstExp
 	/*************************************************/
 	/* The printing message for a binop exp AST node */
 	/*************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		String sop = getOpSymbol();
 
 		/**********************************/
 		/* AST NODE TYPE = AST BINOP EXP */
 		/*********************************/
-		System.out.print("AST NODE BINOP EXP\n");
-		System.out.format("BINOP EXP(%s)\n",sop);
+		ctx.getAstText().print("AST NODE BINOP EXP\n");
+		ctx.getAstText().format("BINOP EXP(%s)\n",sop);
 
 		/**************************************/
 		/* RECURSIVELY PRINT left + right ... */
 		/**************************************/
-		if (left != null) left.printMe();
-		if (right != null) right.printMe();
+		if (left != null) left.printMe(ctx);
+		if (right != null) right.printMe(ctx);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			String.format("BINOP(%s)",sop));
+		ctx.getGraphviz().logNode(this, String.format("BINOP(%s)",sop));
 		
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		if (left  != null) AstGraphviz.getInstance().logEdge(serialNumber,left.serialNumber);
-		if (right != null) AstGraphviz.getInstance().logEdge(serialNumber,right.serialNumber);
+		if (left  != null) ctx.getGraphviz().logEdge(this, left);
+		if (right != null) ctx.getGraphviz().logEdge(this, right);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		Type t1 = left.semantMe();
-		Type t2 = right.semantMe();
+		Type t1 = left.semantMe(ctx);
+		Type t2 = right.semantMe(ctx);
 		
 		if (op == OP_PLUS)
 		{
@@ -153,34 +146,34 @@ public class AstExpBinop extends AstExp
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for left and right operands
-		Temp t1 = left.irMe();
-		Temp t2 = right.irMe();
-		Temp result = TempFactory.getInstance().getFreshTemp();
+		Temp t1 = left.irMe(ctx);
+		Temp t2 = right.irMe(ctx);
+		Temp result = ctx.getTempFactory().getFreshTemp();
 		
 		switch (op) {
 			case OP_PLUS:   // 0
-				Ir.getInstance().AddIrCommand(new IrCommandBinopAddIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopAddIntegers(result, t1, t2));
 				break;
 			case OP_MINUS:  // 1
-				Ir.getInstance().AddIrCommand(new IrCommandBinopSubIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopSubIntegers(result, t1, t2));
 				break;
 			case OP_TIMES:  // 2
-				Ir.getInstance().AddIrCommand(new IrCommandBinopMulIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopMulIntegers(result, t1, t2));
 				break;
 			case OP_DIVIDE: // 3
-				Ir.getInstance().AddIrCommand(new IrCommandBinopDivIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopDivIntegers(result, t1, t2));
 				break;
 			case OP_LT:     // 4
-				Ir.getInstance().AddIrCommand(new IrCommandBinopLtIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopLtIntegers(result, t1, t2));
 				break;
 			case OP_GT:     // 5
-				Ir.getInstance().AddIrCommand(new IrCommandBinopGtIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopGtIntegers(result, t1, t2));
 				break;
 			case OP_EQ:     // 6
-				Ir.getInstance().AddIrCommand(new IrCommandBinopEqIntegers(result, t1, t2));
+				ctx.getIr().AddIrCommand(new IrCommandBinopEqIntegers(result, t1, t2));
 				break;
 		}
 		return result;
@@ -14,32 +14,30 @@ public class AstExpCall extends AstExp
 
 	public AstExpCall(AstExpVar var, String funcName, AstExpList args)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.var = var;
 		this.funcName = funcName;
 		this.args = args;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.format("CALL(%s)\n", funcName);
-		if (var != null) var.printMe();
-		if (args != null) args.printMe();
+		ctx.getAstText().format("CALL(%s)\n", funcName);
+		if (var != null) var.printMe(ctx);
+		if (args != null) args.printMe(ctx);
 		
-		AstGraphviz.getInstance().logNode(serialNumber,
-			String.format("CALL\n%s", funcName));
-		if (var != null) AstGraphviz.getInstance().logEdge(serialNumber, var.serialNumber);
-		if (args != null) AstGraphviz.getInstance().logEdge(serialNumber, args.serialNumber);
+		ctx.getGraphviz().logNode(this, String.format("CALL\n%s", funcName));
+		if (var != null) ctx.getGraphviz().logEdge(this, var);
+		if (args != null) ctx.getGraphviz().logEdge(this, args);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		TypeFunction funcType = null;
 
 		if (var == null) {
 			// Global function call: funcName(args)
-			Type t = SymbolTable.getInstance().find(funcName);
+			Type t = ctx.getSymbolTable().find(funcName);
 			if (t == null)
 				throw new SemanticException(lineNumber, "function '" + funcName + "' not found");
 			if (!(t instanceof TypeFunction))
@@ -47,12 +45,12 @@ public class AstExpCall extends AstExp
 			funcType = (TypeFunction) t;
 		} else {
 			// Method call: var.funcName(args)
-			Type varType = var.semantMe();
+			Type varType = var.semantMe(ctx);
 			if (!varType.isClass())
 				throw new SemanticException(lineNumber, "method call on non-class type");
 			
 			TypeClass classType = (TypeClass) varType;
-			TypeClassVarDec member = classType.findMemberInHierarchy(funcName);
+			TypeClassVarDec member = classType.findMember(funcName);
 			if (member == null)
 				throw new SemanticException(lineNumber, "method '" + funcName + "' not found in class");
 			if (!(member.t instanceof TypeFunction))
@@ -66,7 +64,7 @@ public class AstExpCall extends AstExp
 
 		while (expectedParams != null && actualArgs != null) {
 			Type expectedType = expectedParams.head;
-			Type actualType = actualArgs.head.semantMe();
+			Type actualType = actualArgs.head.semantMe(ctx);
 			
 			if (!TypeUtils.canAssignTo(actualType, expectedType))
 				throw new SemanticException(lineNumber, "argument type mismatch in call to '" + funcName + "'");
@@ -83,14 +81,14 @@ public class AstExpCall extends AstExp
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Handle PrintInt specially (library function)
 		if (funcName.equals("PrintInt")) {
 			// Get the first argument temp
 			if (args != null) {
-				Temp argTemp = args.head.irMe();
-				Ir.getInstance().AddIrCommand(new IrCommandPrintInt(argTemp));
+				Temp argTemp = args.head.irMe(ctx);
+				ctx.getIr().AddIrCommand(new IrCommandPrintInt(argTemp));
 			}
 			return null;  // PrintInt returns void
 		}
@@ -98,13 +96,13 @@ public class AstExpCall extends AstExp
 		// Generate IR for all arguments first
 		AstExpList currArg = args;
 		while (currArg != null) {
-			currArg.head.irMe();
+			currArg.head.irMe(ctx);
 			currArg = currArg.tail;
 		}
 		
 		// For other functions, we would emit a call instruction
 		// For now, return a fresh temp for non-void functions
-		Temp result = TempFactory.getInstance().getFreshTemp();
+		Temp result = ctx.getTempFactory().getFreshTemp();
 		return result;
 	}
 }
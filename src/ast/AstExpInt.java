@@ -14,33 +14,27 @@ public class AstExpInt extends AstExp
 	/******************/
 	public AstExpInt(int value)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.value = value;
 	}
 
 	/************************************************/
 	/* The printing message for an INT EXP AST node */
 	/************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/*******************************/
 		/* AST NODE TYPE = AST INT EXP */
 		/*******************************/
-		System.out.format("AST NODE INT( %d )\n",value);
+		ctx.getAstText().format("AST NODE INT( %d )\n",value);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			String.format("INT(%d)",value));
+		ctx.getGraphviz().logNode(this, String.format("INT(%d)",value));
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		return TypeInt.getInstance();
 	}
@@ -51,10 +45,10 @@ public class AstExpInt extends AstExp
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
-		Temp t = TempFactory.getInstance().getFreshTemp();
-		Ir.getInstance().AddIrCommand(new IRcommandConstInt(t, value));
+		Temp t = ctx.getTempFactory().getFreshTemp();
+		ctx.getIr().AddIrCommand(new IRcommandConstInt(t, value));
 		return t;
 	}
 }
@@ -16,49 +16,42 @@ public class AstExpList extends AstNode
 	/******************/
 	public AstExpList(AstExp head, AstExpList tail)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		this.head = head;
 		this.tail = tail;
 	}
 	/*******************************************************/
 	/* The printing message for a expression list AST node */
 	/*******************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/********************************/
 		/* AST NODE TYPE = AST EXP LIST */
 		/********************************/
-		System.out.print("AST NODE EXP LIST\n");
+		ctx.getAstText().print("AST NODE EXP LIST\n");
 
 		/*************************************/
 		/* RECURSIVELY PRINT HEAD + TAIL ... */
 		/*************************************/
-		if (head != null) head.printMe();
-		if (tail != null) tail.printMe();
+		if (head != null) head.printMe(ctx);
+		if (tail != null) tail.printMe(ctx);
 
 		/**********************************/
 		/* PRINT to AST GRAPHVIZ DOT file */
 		/**********************************/
-		AstGraphviz.getInstance().logNode(
-				serialNumber,
-			"EXP\nLIST\n");
+		ctx.getGraphviz().logNode(this, "EXP\nLIST\n");
 		
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		if (head != null) AstGraphviz.getInstance().logEdge(serialNumber,head.serialNumber);
-		if (tail != null) AstGraphviz.getInstance().logEdge(serialNumber,tail.serialNumber);
+		if (head != null) ctx.getGraphviz().logEdge(this, head);
+		if (tail != null) ctx.getGraphviz().logEdge(this, tail);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		if (head != null) head.semantMe();
-		if (tail != null) tail.semantMe();
+		if (head != null) head.semantMe(ctx);
+		if (tail != null) tail.semantMe(ctx);
 		return null;
 	}
 }
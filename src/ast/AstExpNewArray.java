@@ -13,25 +13,23 @@ public class AstExpNewArray extends AstExp
 
 	public AstExpNewArray(String typeName, AstExp size)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.typeName = typeName;
 		this.size = size;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.format("AST NODE NEW ARRAY: %s[]\n", typeName);
-		if (size != null) size.printMe();
-		AstGraphviz.getInstance().logNode(serialNumber, 
-			String.format("NEW\n%s[]", typeName));
-		if (size != null) AstGraphviz.getInstance().logEdge(serialNumber, size.serialNumber);
+		ctx.getAstText().format("AST NODE NEW ARRAY: %s[]\n", typeName);
+		if (size != null) size.printMe(ctx);
+		ctx.getGraphviz().logNode(this, String.format("NEW\n%s[]", typeName));
+		if (size != null) ctx.getGraphviz().logEdge(this, size);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.3: new T[e] - T must be a previously declared type
-		Type elementType = SymbolTable.getInstance().find(typeName);
+		Type elementType = ctx.getSymbolTable().find(typeName);
 		if (elementType == null)
 			throw new SemanticException(lineNumber, "type '" + typeName + "' not found");
 		
@@ -40,7 +38,7 @@ public class AstExpNewArray extends AstExp
 			throw new SemanticException(lineNumber, "array cannot have void element type");
 
 		// Size expression must be int
-		Type sizeType = size.semantMe();
+		Type sizeType = size.semantMe(ctx);
 		if (!sizeType.isInt())
 			throw new SemanticException(lineNumber, "array size must be int");
 
@@ -54,14 +52,14 @@ public class AstExpNewArray extends AstExp
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for size expression
-		//Temp sizeTemp = size.irMe();
+		//Temp sizeTemp = size.irMe(ctx);
 		
 		// Allocate array (simplified - allocate returns array address)
-		Temp arrayAddr = TempFactory.getInstance().getFreshTemp();
-		Ir.getInstance().AddIrCommand(new IrCommandAllocate(String.format("array_%s", typeName)));
+		Temp arrayAddr = ctx.getTempFactory().getFreshTemp();
+		ctx.getIr().AddIrCommand(new IrCommandAllocate(ctx.getVariables().location(String.format("array_%s", typeName))));
 		
 		return arrayAddr;
 	}
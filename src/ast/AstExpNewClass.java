@@ -12,22 +12,20 @@ public class AstExpNewClass extends AstExp
 
 	public AstExpNewClass(String className)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.className = className;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.format("AST NODE NEW CLASS: %s\n", className);
-		AstGraphviz.getInstance().logNode(serialNumber, 
-			String.format("NEW\n%s", className));
+		ctx.getAstText().format("AST NODE NEW CLASS: %s\n", className);
+		ctx.getGraphviz().logNode(this, String.format("NEW\n%s", className));
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.2: new T - T must be a previously defined class
-		Type t = SymbolTable.getInstance().find(className);
+		Type t = ctx.getSymbolTable().find(className);
 		if (t == null)
 			throw new SemanticException(lineNumber, "class '" + className + "' not found");
 		if (!t.isClass())
@@ -37,11 +35,11 @@ public class AstExpNewClass extends AstExp
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Allocate object (simplified)
-		Temp objectAddr = TempFactory.getInstance().getFreshTemp();
-		Ir.getInstance().AddIrCommand(new IrCommandAllocate(String.format("object_%s", className)));
+		Temp objectAddr = ctx.getTempFactory().getFreshTemp();
+		ctx.getIr().AddIrCommand(new IrCommandAllocate(ctx.getVariables().location(String.format("object_%s", className))));
 		
 		return objectAddr;
 	}
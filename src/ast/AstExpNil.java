@@ -9,28 +9,27 @@ public class AstExpNil extends AstExp
 {
 	public AstExpNil()
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		// Debug disabled: 0
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.print("AST NODE NIL\n");
-		AstGraphviz.getInstance().logNode(serialNumber, "NIL");
+		ctx.getAstText().print("AST NODE NIL\n");
+		ctx.getGraphviz().logNode(this, "NIL");
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		return TypeNil.getInstance();
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Nil is represented as 0 (null pointer)
-		Temp t = TempFactory.getInstance().getFreshTemp();
-		Ir.getInstance().AddIrCommand(new IRcommandConstInt(t, 0));
+		Temp t = ctx.getTempFactory().getFreshTemp();
+		ctx.getIr().AddIrCommand(new IRcommandConstInt(t, 0));
 		return t;
 	}
 }
@@ -10,23 +10,22 @@ public class AstExpParen extends AstExp
 
 	public AstExpParen(AstExp exp)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.exp = exp;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.print("AST NODE PAREN EXP\n");
-		if (exp != null) exp.printMe();
-		AstGraphviz.getInstance().logNode(serialNumber, "(EXP)");
-		if (exp != null) AstGraphviz.getInstance().logEdge(serialNumber, exp.serialNumber);
+		ctx.getAstText().print("AST NODE PAREN EXP\n");
+		if (exp != null) exp.printMe(ctx);
+		ctx.getGraphviz().logNode(this, "(EXP)");
+		if (exp != null) ctx.getGraphviz().logEdge(this, exp);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// Just return the type of the inner expression
-		return exp.semantMe();
+		return exp.semantMe(ctx);
 	}
 
 	@Override
@@ -35,10 +34,10 @@ public class AstExpParen extends AstExp
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Parentheses don't change semantics, just delegate to inner expression
-		return exp.irMe();
+		return exp.irMe(ctx);
 	}
 }
 
@@ -12,32 +12,30 @@ public class AstExpVarField extends AstExpVar
 	
 	public AstExpVarField(AstExpVar var, String fieldName)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.var = var;
 		this.fieldName = fieldName;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.format("FIELD VAR: .%s\n", fieldName);
-		if (var != null) var.printMe();
+		ctx.getAstText().format("FIELD VAR: .%s\n", fieldName);
+		if (var != null) var.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber,
-			String.format("FIELD\n.%s", fieldName));
-		if (var != null) AstGraphviz.getInstance().logEdge(serialNumber, var.serialNumber);
+		ctx.getGraphviz().logNode(this, String.format("FIELD\n.%s", fieldName));
+		if (var != null) ctx.getGraphviz().logEdge(this, var);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.2: v.f - v must be class type, f must be member
-		Type varType = var.semantMe();
+		Type varType = var.semantMe(ctx);
 
 		if (!varType.isClass())
 			throw new SemanticException(lineNumber, "field access on non-class type");
 
 		TypeClass classType = (TypeClass) varType;
-		TypeClassVarDec member = classType.findMemberInHierarchy(fieldName);
+		TypeClassVarDec member = classType.findMember(fieldName);
 
 		if (member == null)
 			throw new SemanticException(lineNumber, "field '" + fieldName + "' not found in class");
@@ -46,16 +44,16 @@ public class AstExpVarField extends AstExpVar
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for base variable
-		//Temp baseTemp = var.irMe();
+		//Temp baseTemp = var.irMe(ctx);
 		
 		// Calculate field offset from class type
 		// For now, we'll use a simplified approach - load field symbolically
-		Temp result = TempFactory.getInstance().getFreshTemp();
+		Temp result = ctx.getTempFactory().getFreshTemp();
 		String fieldAccess = String.format("field_%s", fieldName);
-		Ir.getInstance().AddIrCommand(new IrCommandLoad(result, fieldAccess));
+		ctx.getIr().AddIrCommand(new IrCommandLoad(result, ctx.getVariables().location(fieldAccess)), lineNumber);
 		
 		return result;
 	}
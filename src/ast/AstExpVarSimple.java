@@ -17,13 +17,13 @@ public class AstExpVarSimple extends AstExpVar
 	/* Symbol table entry (saved during semantic analysis) */
 	/*****************************************************/
 	private SymbolTableEntry entry;
+
+	/* IR variable id of the declaration this name resolves to */
+	private int symbolId = IrVariables.NONE;
 	
-	public String getUniqueName()
+	public int getSymbolId()
 	{
-		if (entry != null) {
-			return name + "_" + entry.getOffset();
-		}
-		return name;
+		return symbolId;
 	}
 
 	/******************/
@@ -31,49 +31,48 @@ public class AstExpVarSimple extends AstExpVar
 	/******************/
 	public AstExpVarSimple(String name)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.name = name;
 	}
 
 	/**************************************************/
 	/* The printing message for a simple var AST node */
 	/**************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/**********************************/
 		/* AST NODE TYPE = AST SIMPLE VAR */
 		/**********************************/
-		System.out.format("AST NODE SIMPLE VAR( %s )\n",name);
+		ctx.getAstText().format("AST NODE SIMPLE VAR( %s )\n",name);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			String.format("SIMPLE\nVAR\n(%s)",name));
+		ctx.getGraphviz().logNode(this, String.format("SIMPLE\nVAR\n(%s)",name));
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		Type t = SymbolTable.getInstance().find(name);
+		Type t = ctx.getSymbolTable().find(name);
 		if (t == null)
 			throw new SemanticException(lineNumber, "variable '" + name + "' is not declared");
 		
-		// Save entry for IR generation
-		entry = SymbolTable.getInstance().findEntry(name);
+		// Save the declaration's IR variable id; a name without one
+		// (e.g. a field used inside a method) is a location of its own
+		entry = ctx.getSymbolTable().findEntry(name);
+		if (entry != null && entry.symbolId != IrVariables.NONE)
+			symbolId = entry.symbolId;
+		else
+			symbolId = ctx.getVariables().location(name);
 		
 		return t;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
-		Temp t = TempFactory.getInstance().getFreshTemp();
-		Ir.getInstance().AddIrCommand(new IrCommandLoad(t, getUniqueName()));
+		Temp t = ctx.getTempFactory().getFreshTemp();
+		ctx.getIr().AddIrCommand(new IrCommandLoad(t, symbolId), lineNumber);
 		return t;
 	}
 }
@@ -15,7 +15,6 @@ public class AstExpVarSubscript extends AstExpVar
 	/******************/
 	public AstExpVarSubscript(AstExpVar var, AstExp subscript)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.var = var;
 		this.subscript = subscript;
 	}
@@ -23,30 +22,30 @@ public class AstExpVarSubscript extends AstExpVar
 	/*****************************************************/
 	/* The printing message for a subscript var AST node */
 	/*****************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/*************************************/
 		/* AST NODE TYPE = AST SUBSCRIPT VAR */
 		/*************************************/
-		System.out.print("AST NODE SUBSCRIPT VAR\n");
+		ctx.getAstText().print("AST NODE SUBSCRIPT VAR\n");
 
 		/****************************************/
 		/* RECURSIVELY PRINT VAR + SUBSRIPT ... */
 		/****************************************/
-		if (var != null) var.printMe();
-		if (subscript != null) subscript.printMe();
+		if (var != null) var.printMe(ctx);
+		if (subscript != null) subscript.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "SUBSCRIPT\nVAR");
-		if (var != null) AstGraphviz.getInstance().logEdge(serialNumber, var.serialNumber);
-		if (subscript != null) AstGraphviz.getInstance().logEdge(serialNumber, subscript.serialNumber);
+		ctx.getGraphviz().logNode(this, "SUBSCRIPT\nVAR");
+		if (var != null) ctx.getGraphviz().logEdge(this, var);
+		if (subscript != null) ctx.getGraphviz().logEdge(this, subscript);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.3: v[e] - v must be array type, e must be int
-		Type varType = var.semantMe();
-		Type subscriptType = subscript.semantMe();
+		Type varType = var.semantMe(ctx);
+		Type subscriptType = subscript.semantMe(ctx);
 
 		// Check var is array type
 		if (!varType.isArray())
@@ -67,19 +66,19 @@ public class AstExpVarSubscript extends AstExpVar
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for array base
-		//Temp baseTemp = var.irMe();
+		//Temp baseTemp = var.irMe(ctx);
 		
 		// Generate IR for subscript expression
-		//Temp indexTemp = subscript.irMe();
+		//Temp indexTemp = subscript.irMe(ctx);
 		
 		// For now, use simplified array access
 		// In full implementation, would calculate address: base + index * elementSize
-		Temp result = TempFactory.getInstance().getFreshTemp();
+		Temp result = ctx.getTempFactory().getFreshTemp();
 		String arrayAccess = String.format("array_element");
-		Ir.getInstance().AddIrCommand(new IrCommandLoad(result, arrayAccess));
+		ctx.getIr().AddIrCommand(new IrCommandLoad(result, ctx.getVariables().location(arrayAccess)), lineNumber);
 		
 		return result;
 	}
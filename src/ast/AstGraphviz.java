@@ -1,6 +1,11 @@
 package ast;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.PrintWriter;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class AstGraphviz
 {
@@ -8,59 +13,60 @@ public class AstGraphviz
 	/* The file writer ... */
 	/***********************/
 	private PrintWriter fileWriter;
-	
-	/**************************************/
-	/* USUAL SINGLETON IMPLEMENTATION ... */
-	/**************************************/
-	private static AstGraphviz instance = null;
 
-	/*****************************/
-	/* PREVENT INSTANTIATION ... */
-	/*****************************/
-	private AstGraphviz() {}
+	/*************************************************/
+	/* Nodes are numbered the first time they are    */
+	/* logged, from the compilation's serial numbers */
+	/*************************************************/
+	private final AstNodeSerialNumber serialNumbers;
+	private final Map<AstNode, Integer> nodeIds = new IdentityHashMap<>();
 
-	/******************************/
-	/* GET SINGLETON INSTANCE ... */
-	/******************************/
-	public static AstGraphviz getInstance()
+	/*****************************************/
+	/* One instance per compilation, created */
+	/* by its CompilationContext             */
+	/*****************************************/
+	public AstGraphviz(File file, AstNodeSerialNumber serialNumbers)
 	{
-		if (instance == null)
-		{
-			instance = new AstGraphviz();
-			
-			/****************************/
-			/* Initialize a file writer */
-			/****************************/
-			try
-			{
-				String dirname="./output/";
-				String filename="AST_IN_GRAPHVIZ_DOT_FORMAT.txt";
-				instance.fileWriter = new PrintWriter(dirname+filename);
-			}
-			catch (Exception e)
-			{
-				e.printStackTrace();
-			}
+		this.serialNumbers = serialNumbers;
 
-			/******************************************************/
-			/* Print Directed Graph header in Graphviz dot format */
-			/******************************************************/
-			instance.fileWriter.print("digraph\n");
-			instance.fileWriter.print("{\n");
-			instance.fileWriter.print("graph [ordering = \"out\"]\n");
+		/***************************************/
+		/* Initialize a (buffered) file writer */
+		/***************************************/
+		try
+		{
+			fileWriter = new PrintWriter(new BufferedWriter(new FileWriter(file)));
 		}
-		return instance;
+		catch (Exception e)
+		{
+			e.printStackTrace();
+			return;
+		}
+
+		/******************************************************/
+		/* Print Directed Graph header in Graphviz dot format */
+		/******************************************************/
+		fileWriter.print("digraph\n");
+		fileWriter.print("{\n");
+		fileWriter.print("graph [ordering = \"out\"]\n");
+	}
+
+	/***************************************/
+	/* Serial number of a node in the dump */
+	/***************************************/
+	private int idOf(AstNode node)
+	{
+		return nodeIds.computeIfAbsent(node, n -> serialNumbers.get());
 	}
 
 	/***********************************/
 	/* Log node in graphviz dot format */
 	/***********************************/
-	public void logNode(int nodeSerialNumber,String nodeName)
+	public void logNode(AstNode node, String nodeName)
 	{
 		if (fileWriter != null) {
 			fileWriter.format(
 				"v%d [label = \"%s\"];\n",
-				nodeSerialNumber,
+				idOf(node),
 				nodeName);
 		}
 	}
@@ -69,14 +75,14 @@ public class AstGraphviz
 	/* Log edge in graphviz dot format */
 	/***********************************/
 	public void logEdge(
-		int fatherNodeSerialNumber,
-		int sonNodeSerialNumber)
+		AstNode father,
+		AstNode son)
 	{
 		if (fileWriter != null) {
 			fileWriter.format(
 				"v%d -> v%d;\n",
-				fatherNodeSerialNumber,
-				sonNodeSerialNumber);
+				idOf(father),
+				idOf(son));
 		}
 	}
 	
@@ -5,9 +5,41 @@ import semantic.SemanticException;
 import temp.Temp;
 
 public abstract class AstNode {
-	public int serialNumber;
-	public static int staticLine = 0;  // Set by parser on each token
-	public int lineNumber = staticLine;
+	/*********************************************************/
+	/* [0] line of the token the parser is looking at,       */
+	/* [1] number of nodes created since the last count.     */
+	/* Kept per thread so several files can be parsed        */
+	/* concurrently                                          */
+	/*********************************************************/
+	private static final ThreadLocal<int[]> parseState = ThreadLocal.withInitial(() -> new int[2]);
+
+	public int lineNumber = created();
+
+	private static int created()
+	{
+		int[] state = parseState.get();
+		state[1]++;
+		return state[0];
+	}
+
+	/******************************/
+	/* Set by parser on each token */
+	/******************************/
+	public static void setCurrentLine(int line)
+	{
+		parseState.get()[0] = line;
+	}
+
+	/*****************************************************/
+	/* Nodes created on this thread since the last call  */
+	/*****************************************************/
+	public static int takeCreatedCount()
+	{
+		int[] state = parseState.get();
+		int count = state[1];
+		state[1] = 0;
+		return count;
+	}
 
 	public AstNode() {
 	}
@@ -19,16 +51,16 @@ public abstract class AstNode {
 	/***********************************************/
 	/* The default message for an unknown AST node */
 	/***********************************************/
-	public void printMe() {
-		System.out.print("AST NODE UNKNOWN\n");
+	public void printMe(CompilationContext ctx) {
+		ctx.getAstText().print("AST NODE UNKNOWN\n");
 	}
 
-	public abstract Type semantMe() throws SemanticException;
+	public abstract Type semantMe(CompilationContext ctx) throws SemanticException;
 	
 	/*****************************************/
 	/* The default IR action for an AST node */
 	/*****************************************/
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		return null;
 	}
@@ -6,32 +6,10 @@ public class AstNodeSerialNumber
 	/* The serial number is for debug purposes */
 	/* In particular, it can help in creating  */
 	/* a graphviz dot format of the AST ...    */
+	/* One instance per compilation, owned by  */
+	/* its CompilationContext                  */
 	/*******************************************/
-	public int SerialNumber;
-	
-	/**************************************/
-	/* USUAL SINGLETON IMPLEMENTATION ... */
-	/**************************************/
-	private static AstNodeSerialNumber instance = null;
-
-	/*****************************/
-	/* PREVENT INSTANTIATION ... */
-	/*****************************/
-	protected AstNodeSerialNumber() {}
-
-	/******************************/
-	/* GET SINGLETON INSTANCE ... */
-	/******************************/
-	private static AstNodeSerialNumber getInstance()
-	{
-		if (instance == null)
-		{
-			instance = new AstNodeSerialNumber();
-			instance.SerialNumber = 0;
-			
-		}
-		return instance;
-	}
+	public int SerialNumber = 0;
 
 	/**********************************/
 	/* GET A UNIQUE SERIAL NUMBER ... */
@@ -40,12 +18,4 @@ public class AstNodeSerialNumber
 	{
 		return SerialNumber++;
 	}
-
-	/**********************************/
-	/* GET A UNIQUE SERIAL NUMBER ... */
-	/**********************************/
-	public static int getFresh()
-	{
-		return AstNodeSerialNumber.getInstance().get();
-	}
 }
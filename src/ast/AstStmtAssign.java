@@ -18,11 +18,6 @@ public class AstStmtAssign extends AstStmt
 	/*******************/
 	public AstStmtAssign(AstExpVar var, AstExp exp)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		/*******************************/
 		/* COPY INPUT DATA MENBERS ... */
 		/*******************************/
@@ -33,39 +28,37 @@ public class AstStmtAssign extends AstStmt
 	/*********************************************************/
 	/* The printing message for an assign statement AST node */
 	/*********************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/********************************************/
 		/* AST NODE TYPE = AST ASSIGNMENT STATEMENT */
 		/********************************************/
-		System.out.print("AST NODE ASSIGN STMT\n");
+		ctx.getAstText().print("AST NODE ASSIGN STMT\n");
 
 		/***********************************/
 		/* RECURSIVELY PRINT VAR + EXP ... */
 		/***********************************/
-		if (var != null) var.printMe();
-		if (exp != null) exp.printMe();
+		if (var != null) var.printMe(ctx);
+		if (exp != null) exp.printMe(ctx);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			"ASSIGN\nleft := right\n");
+		ctx.getGraphviz().logNode(this, "ASSIGN\nleft := right\n");
 		
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		AstGraphviz.getInstance().logEdge(serialNumber,var.serialNumber);
-		AstGraphviz.getInstance().logEdge(serialNumber,exp.serialNumber);
+		ctx.getGraphviz().logEdge(this, var);
+		ctx.getGraphviz().logEdge(this, exp);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.4: x := e - type of e must be compatible with type of x
-		Type varType = var.semantMe();
-		Type expType = exp.semantMe();
+		Type varType = var.semantMe(ctx);
+		Type expType = exp.semantMe(ctx);
 		
 		if (!TypeUtils.canAssignTo(expType, varType))
 			throw new SemanticException(lineNumber, "type mismatch in assignment");
@@ -74,26 +67,26 @@ public class AstStmtAssign extends AstStmt
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for RHS expression
-		Temp rhsTemp = exp.irMe();
+		Temp rhsTemp = exp.irMe(ctx);
 		
 		// Handle different LHS types
 		if (var instanceof AstExpVarSimple) {
 			// Simple assignment: x := exp
 			AstExpVarSimple simpleVar = (AstExpVarSimple) var;
-			Ir.getInstance().AddIrCommand(new IrCommandStore(simpleVar.getUniqueName(), rhsTemp));
+			ctx.getIr().AddIrCommand(new IrCommandStore(simpleVar.getSymbolId(), rhsTemp), lineNumber);
 		}
 		else if (var instanceof AstExpVarSubscript) {
 			// Array assignment: a[i] := exp
 			// For now, simplified - would need proper array address calculation
-			Ir.getInstance().AddIrCommand(new IrCommandStore("array_element", rhsTemp));
+			ctx.getIr().AddIrCommand(new IrCommandStore(ctx.getVariables().location("array_element"), rhsTemp));
 		}
 		else if (var instanceof AstExpVarField) {
 			// Field assignment: obj.field := exp
 			// For now, simplified - would need proper field offset calculation
-			Ir.getInstance().AddIrCommand(new IrCommandStore("field", rhsTemp));
+			ctx.getIr().AddIrCommand(new IrCommandStore(ctx.getVariables().location("field"), rhsTemp));
 		}
 		
 		return null;
@@ -10,33 +10,32 @@ public class AstStmtCall extends AstStmt
 	
 	public AstStmtCall(AstExpCall callExp)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.callExp = callExp;
 	}
 	
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		if (callExp != null) callExp.printMe();
+		if (callExp != null) callExp.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "STMT\nCALL");
-		if (callExp != null) AstGraphviz.getInstance().logEdge(serialNumber, callExp.serialNumber);
+		ctx.getGraphviz().logNode(this, "STMT\nCALL");
+		if (callExp != null) ctx.getGraphviz().logEdge(this, callExp);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// Just delegate to the call expression
 		if (callExp != null)
-			callExp.semantMe();
+			callExp.semantMe(ctx);
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Delegate to call expression (discard return value)
 		if (callExp != null) {
-			callExp.irMe();
+			callExp.irMe(ctx);
 		}
 		return null;
 	}
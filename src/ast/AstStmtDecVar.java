@@ -16,44 +16,37 @@ public class AstStmtDecVar extends AstStmt
 	/******************/
 	public AstStmtDecVar(AstDecVar var)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		this.var = var;
 	}
 	
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		var.printMe();
+		var.printMe(ctx);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			String.format("STMT\nDEC\nVAR"));
+		ctx.getGraphviz().logNode(this, String.format("STMT\nDEC\nVAR"));
 		
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		AstGraphviz.getInstance().logEdge(serialNumber,var.serialNumber);
+		ctx.getGraphviz().logEdge(this, var);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		return var.semantMe();
+		return var.semantMe(ctx);
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Delegate to AstDecVar irMe()
 		// Only generate IR if variable has initializer
 		if (var != null) {
-			var.irMe();
+			var.irMe(ctx);
 		}
 		return null;
 	}
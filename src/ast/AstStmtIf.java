@@ -14,93 +14,92 @@ public class AstStmtIf extends AstStmt
 
 	public AstStmtIf(AstExp cond, AstStmtList thenBody, AstStmtList elseBody)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.cond = cond;
 		this.thenBody = thenBody;
 		this.elseBody = elseBody;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.print("AST NODE STMT IF\n");
-		if (cond != null) cond.printMe();
-		if (thenBody != null) thenBody.printMe();
-		if (elseBody != null) elseBody.printMe();
+		ctx.getAstText().print("AST NODE STMT IF\n");
+		if (cond != null) cond.printMe(ctx);
+		if (thenBody != null) thenBody.printMe(ctx);
+		if (elseBody != null) elseBody.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "IF");
-		if (cond != null) AstGraphviz.getInstance().logEdge(serialNumber, cond.serialNumber);
-		if (thenBody != null) AstGraphviz.getInstance().logEdge(serialNumber, thenBody.serialNumber);
-		if (elseBody != null) AstGraphviz.getInstance().logEdge(serialNumber, elseBody.serialNumber);
+		ctx.getGraphviz().logNode(this, "IF");
+		if (cond != null) ctx.getGraphviz().logEdge(this, cond);
+		if (thenBody != null) ctx.getGraphviz().logEdge(this, thenBody);
+		if (elseBody != null) ctx.getGraphviz().logEdge(this, elseBody);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.5: condition must be int
-		Type condType = cond.semantMe();
+		Type condType = cond.semantMe(ctx);
 		if (!condType.isInt())
 			throw new SemanticException(cond.lineNumber, "if condition must be int");
 		
 		// Then branch scope
-		SymbolTable.getInstance().beginScope();
+		ctx.getSymbolTable().beginScope();
 		if (thenBody != null)
-			thenBody.semantMe();
-		SymbolTable.getInstance().endScope();
+			thenBody.semantMe(ctx);
+		ctx.getSymbolTable().endScope();
 
 		// Else branch scope (if exists)
 		if (elseBody != null) {
-			SymbolTable.getInstance().beginScope();
-			elseBody.semantMe();
-			SymbolTable.getInstance().endScope();
+			ctx.getSymbolTable().beginScope();
+			elseBody.semantMe(ctx);
+			ctx.getSymbolTable().endScope();
 		}
 
 		return null;		
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for condition
-		Temp condTemp = cond.irMe();
+		Temp condTemp = cond.irMe(ctx);
 		
 		if (elseBody == null) {
 			// Simple if-then (no else)
-			String afterLabel = IrCommand.getFreshLabel("if_after");
+			String afterLabel = ctx.getIr().getFreshLabel("if_after");
 			
 			// If condition is 0 (false), jump to after
-			Ir.getInstance().AddIrCommand(new IrCommandJumpIfEqToZero(condTemp, afterLabel));
+			ctx.getIr().AddIrCommand(new IrCommandJumpIfEqToZero(condTemp, afterLabel));
 			
 			// Generate IR for then body
 			if (thenBody != null) {
-				thenBody.irMe();
+				thenBody.irMe(ctx);
 			}
 			
 			// Emit after label
-			Ir.getInstance().AddIrCommand(new IrCommandLabel(afterLabel));
+			ctx.getIr().AddIrCommand(new IrCommandLabel(afterLabel));
 		} else {
 			// If-then-else
-			String elseLabel = IrCommand.getFreshLabel("if_else");
-			String afterLabel = IrCommand.getFreshLabel("if_after");
+			String elseLabel = ctx.getIr().getFreshLabel("if_else");
+			String afterLabel = ctx.getIr().getFreshLabel("if_after");
 			
 			// If condition is 0 (false), jump to else
-			Ir.getInstance().AddIrCommand(new IrCommandJumpIfEqToZero(condTemp, elseLabel));
+			ctx.getIr().AddIrCommand(new IrCommandJumpIfEqToZero(condTemp, elseLabel));
 			
 			// Generate IR for then body
 			if (thenBody != null) {
-				thenBody.irMe();
+				thenBody.irMe(ctx);
 			}
 			
 			// Jump to after (skip else)
-			Ir.getInstance().AddIrCommand(new IrCommandJumpLabel(afterLabel));
+			ctx.getIr().AddIrCommand(new IrCommandJumpLabel(afterLabel));
 			
 			// Emit else label and body
-			Ir.getInstance().AddIrCommand(new IrCommandLabel(elseLabel));
+			ctx.getIr().AddIrCommand(new IrCommandLabel(elseLabel));
 			if (elseBody != null) {
-				elseBody.irMe();
+				elseBody.irMe(ctx);
 			}
 			
 			// Emit after label
-			Ir.getInstance().AddIrCommand(new IrCommandLabel(afterLabel));
+			ctx.getIr().AddIrCommand(new IrCommandLabel(afterLabel));
 		}
 		
 		return null;
@@ -17,11 +17,6 @@ public class AstStmtList extends AstNode
 	/******************/
 	public AstStmtList(AstStmt head, AstStmtList tail)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		/*******************************/
 		/* COPY INPUT DATA MEMBERS ... */
 		/*******************************/
@@ -32,53 +27,51 @@ public class AstStmtList extends AstNode
 	/******************************************************/
 	/* The printing message for a statement list AST node */
 	/******************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/**************************************/
 		/* AST NODE TYPE = AST STATEMENT LIST */
 		/**************************************/
-		System.out.print("AST NODE STMT LIST\n");
+		ctx.getAstText().print("AST NODE STMT LIST\n");
 
 		/*************************************/
 		/* RECURSIVELY PRINT HEAD + TAIL ... */
 		/*************************************/
-		if (head != null) head.printMe();
-		if (tail != null) tail.printMe();
+		if (head != null) head.printMe(ctx);
+		if (tail != null) tail.printMe(ctx);
 
 		/**********************************/
 		/* PRINT to AST GRAPHVIZ DOT file */
 		/**********************************/
-		AstGraphviz.getInstance().logNode(
-				serialNumber,
-			"STMT\nLIST\n");
+		ctx.getGraphviz().logNode(this, "STMT\nLIST\n");
 		
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		if (head != null) AstGraphviz.getInstance().logEdge(serialNumber,head.serialNumber);
-		if (tail != null) AstGraphviz.getInstance().logEdge(serialNumber,tail.serialNumber);
+		if (head != null) ctx.getGraphviz().logEdge(this, head);
+		if (tail != null) ctx.getGraphviz().logEdge(this, tail);
 	}
 	
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		if (head != null) head.semantMe();
-		if (tail != null) tail.semantMe();
+		if (head != null) head.semantMe(ctx);
+		if (tail != null) tail.semantMe(ctx);
 		
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		// Generate IR for head statement
 		if (head != null) {
-			head.irMe();
+			head.irMe(ctx);
 		}
 		
 		// Recursively generate for tail
 		if (tail != null) {
-			tail.irMe();
+			tail.irMe(ctx);
 		}
 		
 		return null;
@@ -18,50 +18,43 @@ public class AstStmtReturn extends AstStmt
 	/*******************/
 	public AstStmtReturn(AstExp exp)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-
 		this.exp = exp;
 	}
 
 	/********************************************************/
 	/* The printing message for a return statement AST node */
 	/********************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/***********************************/
 		/* AST NODE TYPE = AST RETURN STMT */
 		/***********************************/
-		System.out.print("AST NODE STMT RETURN\n");
+		ctx.getAstText().print("AST NODE STMT RETURN\n");
 
 		/*****************************/
 		/* RECURSIVELY PRINT exp ... */
 		/*****************************/
-		if (exp != null) exp.printMe();
+		if (exp != null) exp.printMe(ctx);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-                serialNumber,
-			"RETURN");
+		ctx.getGraphviz().logNode(this, "RETURN");
 
 		/****************************************/
 		/* PRINT Edges to AST GRAPHVIZ DOT file */
 		/****************************************/
-		if (exp != null) AstGraphviz.getInstance().logEdge(serialNumber,exp.serialNumber);
+		if (exp != null) ctx.getGraphviz().logEdge(this, exp);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.5: Return statements only inside functions
-		if (!SymbolTable.getInstance().insideFunction())
+		if (!ctx.getSymbolTable().insideFunction())
 			throw new SemanticException(lineNumber, "return statement outside of function");
 		
-		Type expectedReturn = SymbolTable.getInstance().getReturnType();
+		Type expectedReturn = ctx.getSymbolTable().getReturnType();
 
 		if (exp == null) {
 			// return; - must be void function
@@ -69,7 +62,7 @@ public class AstStmtReturn extends AstStmt
 				throw new SemanticException(lineNumber, "non-void function must return a value");
 		} else {
 			// return exp; - must match return type
-			Type actualReturn = exp.semantMe();
+			Type actualReturn = exp.semantMe(ctx);
 			if (expectedReturn.isVoid())
 				throw new SemanticException(lineNumber, "void function cannot return a value");
 			if (!TypeUtils.canAssignTo(actualReturn, expectedReturn))
@@ -80,13 +73,13 @@ public class AstStmtReturn extends AstStmt
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
 		if (exp != null) {
-			Temp retTemp = exp.irMe();
-			Ir.getInstance().AddIrCommand(new IrCommandReturn(retTemp));
+			Temp retTemp = exp.irMe(ctx);
+			ctx.getIr().AddIrCommand(new IrCommandReturn(retTemp));
 		} else {
-			Ir.getInstance().AddIrCommand(new IrCommandReturn(null));
+			ctx.getIr().AddIrCommand(new IrCommandReturn(null));
 		}
 		return null;
 	}
@@ -16,66 +16,65 @@ public class AstStmtWhile extends AstStmt
 	/*******************/
 	public AstStmtWhile(AstExp cond, AstStmtList body)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.cond = cond;
 		this.body = body;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.print("AST NODE STMT WHILE\n");
-		if (cond != null) cond.printMe();
-		if (body != null) body.printMe();
+		ctx.getAstText().print("AST NODE STMT WHILE\n");
+		if (cond != null) cond.printMe(ctx);
+		if (body != null) body.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "WHILE");
-		if (cond != null) AstGraphviz.getInstance().logEdge(serialNumber, cond.serialNumber);
-		if (body != null) AstGraphviz.getInstance().logEdge(serialNumber, body.serialNumber);
+		ctx.getGraphviz().logNode(this, "WHILE");
+		if (cond != null) ctx.getGraphviz().logEdge(this, cond);
+		if (body != null) ctx.getGraphviz().logEdge(this, body);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
 		// PDF 2.5: condition must be int
-		Type condType = cond.semantMe();
+		Type condType = cond.semantMe(ctx);
 		if (!condType.isInt())
 			throw new SemanticException(cond.lineNumber, "while condition must be int");
 
 		// Begin scope for while body
-		SymbolTable.getInstance().beginScope();
+		ctx.getSymbolTable().beginScope();
 
 		if (body != null)
-			body.semantMe();
+			body.semantMe(ctx);
 
-		SymbolTable.getInstance().endScope();
+		ctx.getSymbolTable().endScope();
 
 		return null;
 	}
 
 	@Override
-	public Temp irMe()
+	public Temp irMe(CompilationContext ctx)
 	{
-		String beginLabel = IrCommand.getFreshLabel("while_begin");
-		String afterLabel = IrCommand.getFreshLabel("while_after");
+		String beginLabel = ctx.getIr().getFreshLabel("while_begin");
+		String afterLabel = ctx.getIr().getFreshLabel("while_after");
 		
 		// Emit begin label
-		Ir.getInstance().AddIrCommand(new IrCommandLabel(beginLabel));
+		ctx.getIr().AddIrCommand(new IrCommandLabel(beginLabel));
 		
 		// Generate condition
-		Temp condTemp = cond.irMe();
+		Temp condTemp = cond.irMe(ctx);
 		
 		// If false (0), exit loop
-		Ir.getInstance().AddIrCommand(new IrCommandJumpIfEqToZero(condTemp, afterLabel));
+		ctx.getIr().AddIrCommand(new IrCommandJumpIfEqToZero(condTemp, afterLabel));
 		
 		// Generate body
 		if (body != null) {
-			body.irMe();
+			body.irMe(ctx);
 		}
 		
 		// Jump back to begin
-		Ir.getInstance().AddIrCommand(new IrCommandJumpLabel(beginLabel));
+		ctx.getIr().AddIrCommand(new IrCommandJumpLabel(beginLabel));
 		
 		// Emit after label
-		Ir.getInstance().AddIrCommand(new IrCommandLabel(afterLabel));
+		ctx.getIr().AddIrCommand(new IrCommandLabel(afterLabel));
 		
 		return null;
 	}
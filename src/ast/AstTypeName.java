@@ -23,11 +23,6 @@ public class AstTypeName extends AstNode
 	/******************/
 	public AstTypeName(String type, String name)
 	{
-		/******************************/
-		/* SET A UNIQUE SERIAL NUMBER */
-		/******************************/
-		serialNumber = AstNodeSerialNumber.getFresh();
-	
 		this.type = type;
 		this.name = name;
 	}
@@ -35,25 +30,23 @@ public class AstTypeName extends AstNode
 	/*************************************************/
 	/* The printing message for a type name AST node */
 	/*************************************************/
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
 		/**************************************/
 		/* AST NODE TYPE = AST TYPE NAME NODE */
 		/**************************************/
-		System.out.format("NAME(%s):TYPE(%s)\n",name,type);
+		ctx.getAstText().format("NAME(%s):TYPE(%s)\n",name,type);
 
 		/***************************************/
 		/* PRINT Node to AST GRAPHVIZ DOT file */
 		/***************************************/
-		AstGraphviz.getInstance().logNode(
-				serialNumber,
-			String.format("NAME:TYPE\n%s:%s",name,type));
+		ctx.getGraphviz().logNode(this, String.format("NAME:TYPE\n%s:%s",name,type));
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		Type t = SymbolTable.getInstance().find(type);
+		Type t = ctx.getSymbolTable().find(type);
 		if (t == null)
 			throw new SemanticException(lineNumber, "type '" + type + "' does not exist");
 
@@ -63,7 +56,7 @@ public class AstTypeName extends AstNode
 		/*******************************************************/
 		/* Enter var with name=name and type=t to symbol table */
 		/*******************************************************/
-		SymbolTable.getInstance().enter(name, t);
+		ctx.getSymbolTable().enter(name, t);
 
 		/****************************/
 		/* return (existing) type t */
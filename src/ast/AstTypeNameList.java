@@ -10,37 +10,36 @@ public class AstTypeNameList extends AstNode
 	
 	public AstTypeNameList(AstTypeName head, AstTypeNameList tail)
 	{
-		serialNumber = AstNodeSerialNumber.getFresh();
 		this.head = head;
 		this.tail = tail;
 	}
 
-	public void printMe()
+	public void printMe(CompilationContext ctx)
 	{
-		System.out.print("AST TYPE NAME LIST\n");
-		if (head != null) head.printMe();
-		if (tail != null) tail.printMe();
+		ctx.getAstText().print("AST TYPE NAME LIST\n");
+		if (head != null) head.printMe(ctx);
+		if (tail != null) tail.printMe(ctx);
 
-		AstGraphviz.getInstance().logNode(serialNumber, "TYPE-NAME\nLIST\n");
-		if (head != null) AstGraphviz.getInstance().logEdge(serialNumber, head.serialNumber);
-		if (tail != null) AstGraphviz.getInstance().logEdge(serialNumber, tail.serialNumber);
+		ctx.getGraphviz().logNode(this, "TYPE-NAME\nLIST\n");
+		if (head != null) ctx.getGraphviz().logEdge(this, head);
+		if (tail != null) ctx.getGraphviz().logEdge(this, tail);
 	}
 
 	@Override
-	public Type semantMe() throws SemanticException
+	public Type semantMe(CompilationContext ctx) throws SemanticException
 	{
-		if (head != null) head.semantMe();
-		if (tail != null) tail.semantMe();
+		if (head != null) head.semantMe(ctx);
+		if (tail != null) tail.semantMe(ctx);
 		return null;
 	}
 
 	/** Build a TypeList from this list (for function params) */
-	public TypeList toTypeList() throws SemanticException
+	public TypeList toTypeList(CompilationContext ctx) throws SemanticException
 	{
 		if (tail == null) {
-			return new TypeList(head.semantMe(), null);
+			return new TypeList(head.semantMe(ctx), null);
 		} else {
-			return new TypeList(head.semantMe(), tail.toTypeList());
+			return new TypeList(head.semantMe(ctx), tail.toTypeList(ctx));
 		}
 	}
 }
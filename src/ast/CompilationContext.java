@@ -0,0 +1,123 @@
+package ast;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+import ir.Ir;
+import ir.IrVariables;
+import symboltable.NamePool;
+import symboltable.SymbolTable;
+import temp.TempFactory;
+
+public class CompilationContext
+{
+	/*********************************************************/
+	/* Everything one compilation mutates: the symbol table, */
+	/* the emitted IR and its label counter, the temp        */
+	/* factory, the name pool and the AST dump. Each         */
+	/* compilation gets its own context, so several can run  */
+	/* in one JVM at once                                    */
+	/*********************************************************/
+	private static final String AST_DOT_FILE = "AST_IN_GRAPHVIZ_DOT_FORMAT.txt";
+	private static final String AST_TEXT_FILE = "AST.txt";
+
+	private final NamePool names = new NamePool();
+	private final SymbolTable symbolTable = new SymbolTable(names);
+	private final Ir ir = new Ir();
+	private final TempFactory tempFactory = new TempFactory();
+	private final AstNodeSerialNumber serialNumbers = new AstNodeSerialNumber();
+	private AstGraphviz graphviz = null;
+	private PrintWriter astText = null;
+
+	/***********************************************/
+	/* Where debug dumps (AST, CFGs, symbol table) */
+	/* go; null means diagnostics are off and the  */
+	/* compilation does no debug I/O at all        */
+	/***********************************************/
+	private final File dumpDir;
+
+	public CompilationContext()
+	{
+		this(null);
+	}
+
+	public CompilationContext(File dumpDir)
+	{
+		this.dumpDir = dumpDir;
+		if (dumpDir != null)
+		{
+			dumpDir.mkdirs();
+		}
+	}
+
+	public SymbolTable getSymbolTable() { return symbolTable; }
+	public Ir getIr() { return ir; }
+	public IrVariables getVariables() { return ir.getVariables(); }
+	public TempFactory getTempFactory() { return tempFactory; }
+	public NamePool getNames() { return names; }
+	public AstNodeSerialNumber getSerialNumbers() { return serialNumbers; }
+	public boolean isDiagnostics() { return dumpDir != null; }
+	public File getDumpDir() { return dumpDir; }
+
+	/********************************************/
+	/* The AST dump file is only opened once a  */
+	/* node is actually printed, which requires */
+	/* diagnostics mode                         */
+	/********************************************/
+	public AstGraphviz getGraphviz()
+	{
+		if (dumpDir == null)
+		{
+			throw new IllegalStateException("AST dump requested without a diagnostics directory");
+		}
+		if (graphviz == null)
+		{
+			graphviz = new AstGraphviz(new File(dumpDir, AST_DOT_FILE), serialNumbers);
+		}
+		return graphviz;
+	}
+
+	/***********************************************/
+	/* The textual AST dump (printMe), written to  */
+	/* the dump directory and never to stdout,     */
+	/* which carries the --daemon replies          */
+	/***********************************************/
+	public PrintWriter getAstText()
+	{
+		if (dumpDir == null)
+		{
+			throw new IllegalStateException("AST dump requested without a diagnostics directory");
+		}
+		if (astText == null)
+		{
+			try
+			{
+				astText = new PrintWriter(new BufferedWriter(new FileWriter(new File(dumpDir, AST_TEXT_FILE))));
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+		return astText;
+	}
+
+	/**********************************/
+	/* Finish any open debug output   */
+	/**********************************/
+	public void close()
+	{
+		if (graphviz != null)
+		{
+			graphviz.finalizeFile();
+		}
+		if (astText != null)
+		{
+			astText.close();
+		}
+	}
+}
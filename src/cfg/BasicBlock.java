@@ -13,6 +13,7 @@ import java.util.List;
 /* PROJECT IMPORTS */
 /*******************/
 import ir.*;
+import dfa.BlockSummary;
 
 /**
  * BasicBlock - Represents a basic block in the control flow graph
@@ -29,30 +30,30 @@ public class BasicBlock
 	/* DATA MEMBERS */
 	/****************/
 	private int id;
-	private List<IrCommand> instructions;
+	// Instructions [start, end) of the packed IR (absolute indices, no copy)
+	private PackedIr ir;
+	private int start;
+	private int end;
 	private List<BasicBlock> predecessors;
 	private List<BasicBlock> successors;
 	
 	private boolean isEntry = false;
 	private boolean isExit = false;
 	
+	// Cached data flow transfer summary (computed once per analysis numbering)
+	private BlockSummary summary = null;
+	
 	/******************/
 	/* CONSTRUCTOR(S) */
 	/******************/
-	public BasicBlock(int id)
+	public BasicBlock(int id, PackedIr ir, int start, int end)
 	{
 		this.id = id;
-		this.instructions = new ArrayList<>();
+		this.ir = ir;
+		this.start = start;
+		this.end = end;
 		this.predecessors = new ArrayList<>();
-		this.successors = new ArrayList<>();
-	}
-	
-	/******************/
-	/* ADD INSTRUCTION */
-	/******************/
-	public void addInstruction(IrCommand cmd)
-	{
-		instructions.add(cmd);
+		this.successors = new ArrayList<>(2);
 	}
 	
 	/*********************/
@@ -79,7 +80,21 @@ public class BasicBlock
 	/* GETTERS        */
 	/******************/
 	public int getId() { return id; }
-	public List<IrCommand> getInstructions() { return instructions; }
+	public PackedIr getIr() { return ir; }
+	public int getStart() { return start; }
+	public int getEnd() { return end; }
+	public int size() { return end - start; }
+	
+	/*******************************************/
+	/* Read-only cursor over the instructions  */
+	/*******************************************/
+	public PackedIr.Cursor cursor() { return ir.cursor(start, end); }
+	
+	/*******************************************/
+	/* The instructions as IR command objects, */
+	/* for printing only                       */
+	/*******************************************/
+	public List<IrCommand> getInstructions() { return ir.commands(start, end); }
 	public List<BasicBlock> getPredecessors() { return predecessors; }
 	public List<BasicBlock> getSuccessors() { return successors; }
 	
@@ -89,17 +104,20 @@ public class BasicBlock
 	public void setEntry(boolean entry) { this.isEntry = entry; }
 	public void setExit(boolean exit) { this.isExit = exit; }
 	
+	public BlockSummary getSummary() { return summary; }
+	public void setSummary(BlockSummary summary) { this.summary = summary; }
+	
 	/******************/
 	/* FIRST/LAST CMD */
 	/******************/
 	public IrCommand getFirstInstruction()
 	{
-		return instructions.isEmpty() ? null : instructions.get(0);
+		return (start == end) ? null : getInstructions().get(0);
 	}
 	
 	public IrCommand getLastInstruction()
 	{
-		return instructions.isEmpty() ? null : instructions.get(instructions.size() - 1);
+		return (start == end) ? null : getInstructions().get(end - start - 1);
 	}
 	
 	/******************/
@@ -110,7 +128,7 @@ public class BasicBlock
 	{
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("BasicBlock %d:\n", id));
-		for (IrCommand cmd : instructions) {
+		for (IrCommand cmd : getInstructions()) {
 			sb.append("  ").append(cmd.toString()).append("\n");
 		}
 		return sb.toString();
@@ -6,10 +6,12 @@ package cfg;
 /*******************/
 /* GENERAL IMPORTS */
 /*******************/
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
 
 /*******************/
 /* PROJECT IMPORTS */
@@ -33,8 +35,10 @@ public class ControlFlowGraph
 	private BasicBlock entryBlock;
 	private BasicBlock exitBlock;
 	
-	// Map from label names to blocks that start with that label
-	private Map<String, BasicBlock> labelToBlock;
+	// Function this graph belongs to (GLOBALS for global initialization code)
+	private String name = GLOBALS;
+	
+	public static final String GLOBALS = "<globals>";
 	
 	/******************/
 	/* CONSTRUCTOR(S) */
@@ -42,7 +46,6 @@ public class ControlFlowGraph
 	public ControlFlowGraph()
 	{
 		this.blocks = new ArrayList<>();
-		this.labelToBlock = new HashMap<>();
 	}
 	
 	/******************/
@@ -63,17 +66,70 @@ public class ControlFlowGraph
 	public void setEntryBlock(BasicBlock entry) { this.entryBlock = entry; }
 	public void setExitBlock(BasicBlock exit) { this.exitBlock = exit; }
 	
-	public Map<String, BasicBlock> getLabelToBlock() { return labelToBlock; }
+	public String getName() { return name; }
+	public void setName(String name) { this.name = name; }
+	
+	/*******************************************/
+	/* BUILD ONE CFG PER FUNCTION             */
+	/* The IR is split before every function  */
+	/* entry label (AstDecFunc.irMe). Element */
+	/* 0 is the global initialization code   */
+	/* preceding the first function (possibly */
+	/* empty), then one CFG per function in   */
+	/* IR order                                */
+	/*******************************************/
+	public static List<ControlFlowGraph> buildPerFunction(List<IrCommand> irCommands)
+	{
+		return buildPerFunction(PackedIr.of(irCommands));
+	}
+	
+	public static List<ControlFlowGraph> buildPerFunction(PackedIr ir)
+	{
+		List<ControlFlowGraph> cfgs = new ArrayList<>();
+		int start = 0;
+		String name = GLOBALS;
+		
+		for (int i = 0; i <= ir.size(); i++) {
+			if (i < ir.size() && !ir.isFunctionEntry(i)) {
+				continue;
+			}
+			
+			// Instructions from start to i (exclusive) belong to the current function
+			ControlFlowGraph cfg = build(ir, start, i);
+			cfg.setName(name);
+			cfgs.add(cfg);
+			
+			if (i < ir.size()) {
+				name = ir.functionName(ir.label(i));
+			}
+			start = i;
+		}
+		
+		return cfgs;
+	}
 	
 	/*******************************************/
 	/* BUILD CFG FROM IR COMMAND LIST         */
 	/* Based on lecture 1.md lines 2990-3010  */
 	/*******************************************/
 	public static ControlFlowGraph build(List<IrCommand> irCommands)
+	{
+		if (irCommands == null || irCommands.isEmpty()) {
+			return new ControlFlowGraph();
+		}
+		PackedIr ir = PackedIr.of(irCommands);
+		return build(ir, 0, ir.size());
+	}
+	
+	/*******************************************/
+	/* BUILD CFG FROM PACKED IR [start, end)  */
+	/* Blocks keep absolute indices into ir   */
+	/*******************************************/
+	public static ControlFlowGraph build(PackedIr ir, int start, int end)
 	{
 		ControlFlowGraph cfg = new ControlFlowGraph();
 		
-		if (irCommands == null || irCommands.isEmpty()) {
+		if (start >= end) {
 			return cfg;
 		}
 		
@@ -81,33 +137,28 @@ public class ControlFlowGraph
 		/* STEP 1: Identify Leaders         */
 		/* (per lecture 1.md lines 2999-3005) */
 		/************************************/
-		List<Integer> leaders = identifyLeaders(irCommands);
+		boolean[] leaders = identifyLeaders(ir, start, end);
 		
 		/************************************/
 		/* STEP 2: Partition into Blocks    */
+		/*         and Build Label Map      */
 		/************************************/
-		List<BasicBlock> blocks = partitionIntoBlocks(irCommands, leaders);
-		cfg.blocks = blocks;
-		
-		/************************************/
-		/* STEP 3: Build Label Map          */
-		/************************************/
-		cfg.buildLabelMap(irCommands, blocks, leaders);
+		LabelMap labelToBlock = cfg.partitionIntoBlocks(ir, start, end, leaders);
 		
 		/************************************/
-		/* STEP 4: Connect Blocks           */
+		/* STEP 3: Connect Blocks           */
 		/************************************/
-		cfg.connectBlocks(irCommands, leaders);
+		cfg.connectBlocks(ir, labelToBlock);
 		
 		/************************************/
-		/* STEP 5: Set Entry/Exit          */
+		/* STEP 4: Set Entry/Exit          */
 		/************************************/
-		if (!blocks.isEmpty()) {
-			cfg.entryBlock = blocks.get(0);
+		if (!cfg.blocks.isEmpty()) {
+			cfg.entryBlock = cfg.blocks.get(0);
 			cfg.entryBlock.setEntry(true);
 			
 			// Exit block is the last block (or blocks with no successors)
-			cfg.exitBlock = blocks.get(blocks.size() - 1);
+			cfg.exitBlock = cfg.blocks.get(cfg.blocks.size() - 1);
 			cfg.exitBlock.setExit(true);
 		}
 		
@@ -120,148 +171,197 @@ public class ControlFlowGraph
 	/* - First instruction is a leader  */
 	/* - Target of jump is a leader     */
 	/* - Instruction after jump is leader*/
+	/* One pass, marking leaders in an  */
+	/* array indexed by offset in range */
 	/************************************/
-	private static List<Integer> identifyLeaders(List<IrCommand> irCommands)
+	private static boolean[] identifyLeaders(PackedIr ir, int start, int end)
 	{
-		List<Integer> leaders = new ArrayList<>();
+		int n = end - start;
+		boolean[] leaders = new boolean[n];
 		
 		// Rule 1: First instruction is always a leader
-		if (!irCommands.isEmpty()) {
-			leaders.add(0);
-		}
+		leaders[0] = true;
 		
-		for (int i = 0; i < irCommands.size(); i++) {
-			IrCommand cmd = irCommands.get(i);
+		for (int i = 0; i < n; i++) {
+			IrOpcode opcode = ir.opcode(start + i);
 			
 			// Rule 2: Any instruction that is the target of a jump is a leader
-			if (cmd instanceof IrCommandLabel) {
-				if (!leaders.contains(i)) {
-					leaders.add(i);
-				}
+			if (opcode == IrOpcode.LABEL) {
+				leaders[i] = true;
 			}
 			
 			// Rule 3: Any instruction immediately following a jump is a leader
-			if (cmd instanceof IrCommandJumpLabel || 
-			    cmd instanceof IrCommandJumpIfEqToZero ||
-			    cmd instanceof IrCommandReturn) {
-				if (i + 1 < irCommands.size() && !leaders.contains(i + 1)) {
-					leaders.add(i + 1);
-				}
+			if (opcode.isBranch() && i + 1 < n) {
+				leaders[i + 1] = true;
 			}
 		}
 		
-		// Sort leaders for easy processing
-		leaders.sort(Integer::compareTo);
-		
 		return leaders;
 	}
 	
 	/************************************/
 	/* PARTITION INTO BASIC BLOCKS      */
+	/* Each block is an index range of  */
+	/* the packed IR; labels are mapped */
+	/* to their block on the way        */
 	/************************************/
-	private static List<BasicBlock> partitionIntoBlocks(List<IrCommand> irCommands, List<Integer> leaders)
+	private LabelMap partitionIntoBlocks(PackedIr ir, int start, int end, boolean[] leaders)
 	{
-		List<BasicBlock> blocks = new ArrayList<>();
+		LabelMap labelToBlock = new LabelMap(ir, start, end);
+		int n = end - start;
+		int first = 0;
 		
-		for (int i = 0; i < leaders.size(); i++) {
-			int start = leaders.get(i);
-			int end = (i + 1 < leaders.size()) ? leaders.get(i + 1) : irCommands.size();
-			
-			// Create a new basic block
-			BasicBlock block = new BasicBlock(i);
-			
-			// Add all instructions from start to end (exclusive)
-			for (int j = start; j < end; j++) {
-				block.addInstruction(irCommands.get(j));
-			}
+		for (int i = 1; i <= n; i++) {
+			if (i < n && !leaders[i]) continue;
 			
+			// Instructions from first to i (exclusive) form a block
+			BasicBlock block = new BasicBlock(blocks.size(), ir, start + first, start + i);
 			blocks.add(block);
-		}
-		
-		return blocks;
-	}
-	
-	/************************************/
-	/* BUILD LABEL TO BLOCK MAP         */
-	/************************************/
-	private void buildLabelMap(List<IrCommand> irCommands, List<BasicBlock> blocks, List<Integer> leaders)
-	{
-		// Map each label to the block that contains it
-		for (int i = 0; i < leaders.size(); i++) {
-			int leaderIndex = leaders.get(i);
-			IrCommand cmd = irCommands.get(leaderIndex);
 			
-			if (cmd instanceof IrCommandLabel) {
-				String labelName = ((IrCommandLabel) cmd).getLabelName();
-				labelToBlock.put(labelName, blocks.get(i));
-			}
-		}
-		
-		// Also need to map labels that appear within blocks (though rare)
-		for (int blockIdx = 0; blockIdx < blocks.size(); blockIdx++) {
-			BasicBlock block = blocks.get(blockIdx);
-			for (IrCommand cmd : block.getInstructions()) {
-				if (cmd instanceof IrCommandLabel) {
-					String labelName = ((IrCommandLabel) cmd).getLabelName();
-					if (!labelToBlock.containsKey(labelName)) {
-						labelToBlock.put(labelName, block);
-					}
+			for (int j = start + first; j < start + i; j++) {
+				if (ir.opcode(j) == IrOpcode.LABEL) {
+					labelToBlock.put(ir.label(j), block);
 				}
 			}
+			first = i;
 		}
+		return labelToBlock;
 	}
 	
 	/************************************/
 	/* CONNECT BLOCKS                   */
 	/* Add edges based on control flow  */
 	/************************************/
-	private void connectBlocks(List<IrCommand> irCommands, List<Integer> leaders)
+	private void connectBlocks(PackedIr ir, LabelMap labelToBlock)
 	{
 		for (int i = 0; i < blocks.size(); i++) {
 			BasicBlock block = blocks.get(i);
-			IrCommand lastCmd = block.getLastInstruction();
-			
-			if (lastCmd == null) continue;
+			int last = block.getEnd() - 1;
+			BasicBlock nextBlock = (i + 1 < blocks.size()) ? blocks.get(i + 1) : null;
 			
 			// Handle different types of control flow
-			if (lastCmd instanceof IrCommandJumpLabel) {
+			switch (ir.opcode(last)) {
+			case JUMP:
 				// Unconditional jump: goto L
-				String targetLabel = ((IrCommandJumpLabel) lastCmd).getLabelName();
-				BasicBlock targetBlock = labelToBlock.get(targetLabel);
-				if (targetBlock != null) {
-					block.addSuccessor(targetBlock);
-					targetBlock.addPredecessor(block);
-				}
-			}
-			else if (lastCmd instanceof IrCommandJumpIfEqToZero) {
+				connect(block, labelToBlock.get(ir.label(last)));
+				break;
+			case JUMP_IF_EQ_TO_ZERO:
 				// Conditional jump: if t == 0 goto L
-				String targetLabel = ((IrCommandJumpIfEqToZero) lastCmd).getLabelName();
-				BasicBlock targetBlock = labelToBlock.get(targetLabel);
-				
 				// Edge to target (false branch)
-				if (targetBlock != null) {
-					block.addSuccessor(targetBlock);
-					targetBlock.addPredecessor(block);
-				}
-				
+				connect(block, labelToBlock.get(ir.label(last)));
 				// Edge to next block (true branch - fall through)
-				if (i + 1 < blocks.size()) {
-					BasicBlock nextBlock = blocks.get(i + 1);
-					block.addSuccessor(nextBlock);
-					nextBlock.addPredecessor(block);
+				connect(block, nextBlock);
+				break;
+			case RETURN:
+				// Return statement: no successors (ends function)
+				break;
+			default:
+				// Regular instruction: fall through to next block
+				connect(block, nextBlock);
+				break;
+			}
+		}
+	}
+	
+	/************************************************/
+	/* Label id -> block, over the window of label  */
+	/* ids referenced in [start, end). Ids are      */
+	/* handed out in IR order, so a function's      */
+	/* labels are (nearly) contiguous               */
+	/************************************************/
+	private static final class LabelMap
+	{
+		private final int base;
+		private final BasicBlock[] blocks;
+		
+		LabelMap(PackedIr ir, int start, int end)
+		{
+			int lo = Integer.MAX_VALUE;
+			int hi = -1;
+			for (int i = start; i < end; i++) {
+				int label = ir.label(i);
+				if (label != PackedIr.NONE) {
+					lo = Math.min(lo, label);
+					hi = Math.max(hi, label);
 				}
 			}
-			else if (lastCmd instanceof IrCommandReturn) {
-				// Return statement: no successors (ends function)
-				// No edges added
+			this.base = (hi < 0) ? 0 : lo;
+			this.blocks = new BasicBlock[hi - base + 1];
+		}
+		
+		void put(int label, BasicBlock block)
+		{
+			blocks[label - base] = block;
+		}
+		
+		BasicBlock get(int label)
+		{
+			return blocks[label - base];
+		}
+	}
+	
+	private static void connect(BasicBlock from, BasicBlock to)
+	{
+		if (to != null) {
+			from.addSuccessor(to);
+			to.addPredecessor(from);
+		}
+	}
+	
+	/*******************************************/
+	/* POSTORDER                               */
+	/* Blocks in postorder of a depth-first    */
+	/* search from the entry block. Blocks     */
+	/* unreachable from the entry are appended */
+	/* by further searches in block order, so  */
+	/* every block appears exactly once. Block */
+	/* ids are their index in the block list   */
+	/*******************************************/
+	public List<BasicBlock> postorder()
+	{
+		int n = blocks.size();
+		boolean[] visited = new boolean[n];
+		List<BasicBlock> postorder = new ArrayList<>(n);
+		
+		if (entryBlock != null) {
+			depthFirst(entryBlock, visited, postorder);
+		}
+		for (BasicBlock block : blocks) {
+			if (!visited[block.getId()]) {
+				depthFirst(block, visited, postorder);
 			}
-			else {
-				// Regular instruction: fall through to next block
-				if (i + 1 < blocks.size()) {
-					BasicBlock nextBlock = blocks.get(i + 1);
-					block.addSuccessor(nextBlock);
-					nextBlock.addPredecessor(block);
+		}
+		return postorder;
+	}
+	
+	/*******************************************/
+	/* Iterative depth-first search appending  */
+	/* blocks in postorder (an explicit stack  */
+	/* avoids overflow on long block chains)   */
+	/*******************************************/
+	private static void depthFirst(BasicBlock root, boolean[] visited, List<BasicBlock> postorder)
+	{
+		Deque<BasicBlock> stack = new ArrayDeque<>();
+		Deque<Integer> nextChild = new ArrayDeque<>();
+		visited[root.getId()] = true;
+		stack.push(root);
+		nextChild.push(0);
+		
+		while (!stack.isEmpty()) {
+			BasicBlock block = stack.peek();
+			int child = nextChild.pop();
+			List<BasicBlock> succs = block.getSuccessors();
+			if (child < succs.size()) {
+				nextChild.push(child + 1);
+				BasicBlock succ = succs.get(child);
+				if (!visited[succ.getId()]) {
+					visited[succ.getId()] = true;
+					stack.push(succ);
+					nextChild.push(0);
 				}
+			} else {
+				stack.pop();
+				postorder.add(block);
 			}
 		}
 	}
@@ -298,38 +398,56 @@ public class ControlFlowGraph
 	/******************/
 	public String toDot()
 	{
-		StringBuilder sb = new StringBuilder();
-		sb.append("digraph CFG {\n");
-		sb.append("  node [shape=box];\n");
+		StringWriter sw = new StringWriter();
+		writeDot(new PrintWriter(sw));
+		return sw.toString();
+	}
+
+	public void writeDot(PrintWriter out)
+	{
+		writeDot(out, null);
+	}
+
+	/***********************************************/
+	/* Stream the dot format straight to a writer, */
+	/* without building the whole text in memory;  */
+	/* variables (if not null) names the IR's      */
+	/* variable ids                                */
+	/***********************************************/
+	public void writeDot(PrintWriter out, IrVariables variables)
+	{
+		out.print("digraph CFG {\n");
+		out.print("  node [shape=box];\n");
 		
 		// Add nodes
 		for (BasicBlock block : blocks) {
-			sb.append(String.format("  block%d [label=\"Block %d", block.getId(), block.getId()));
-			if (block.isEntry()) sb.append("\\n[ENTRY]");
-			if (block.isExit()) sb.append("\\n[EXIT]");
-			sb.append("\\n---\\n");
+			out.format("  block%d [label=\"Block %d", block.getId(), block.getId());
+			if (block.isEntry()) out.print("\\n[ENTRY]");
+			if (block.isExit()) out.print("\\n[EXIT]");
+			out.print("\\n---\\n");
 			
 			// Add first few instructions as label
 			int count = 0;
 			for (IrCommand cmd : block.getInstructions()) {
 				if (count++ >= 3) {
-					sb.append("...\\n");
+					out.print("...\\n");
 					break;
 				}
-				sb.append(cmd.toString().replace("\"", "\\\"")).append("\\n");
+				String text = (variables == null) ? cmd.toString() : cmd.toString(variables);
+				out.print(text.replace("\"", "\\\""));
+				out.print("\\n");
 			}
-			sb.append("\"];\n");
+			out.print("\"];\n");
 		}
 		
 		// Add edges
 		for (BasicBlock block : blocks) {
 			for (BasicBlock succ : block.getSuccessors()) {
-				sb.append(String.format("  block%d -> block%d;\n", block.getId(), succ.getId()));
+				out.format("  block%d -> block%d;\n", block.getId(), succ.getId());
 			}
 		}
 		
-		sb.append("}\n");
-		return sb.toString();
+		out.print("}\n");
+		out.flush();
 	}
 }
-
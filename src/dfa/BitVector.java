@@ -0,0 +1,133 @@
+package dfa;
+
+import java.util.Arrays;
+
+/**
+ * BitVector is a fixed-width set of dense variable indices backed by a long[].
+ * All operations that combine vectors work in place, so the data flow
+ * fixed point does not allocate once the IN/OUT vectors exist.
+ */
+public final class BitVector {
+    private final long[] words;
+    private final int width;
+
+    /**
+     * Creates an empty vector able to hold indices 0 .. width-1.
+     */
+    public BitVector(int width) {
+        this.width = width;
+        this.words = new long[(width + 63) >>> 6];
+    }
+
+    /**
+     * Creates a copy of another vector.
+     */
+    public BitVector(BitVector other) {
+        this.width = other.width;
+        this.words = other.words.clone();
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index) {
+        words[index >>> 6] |= (1L << index);
+    }
+
+    public void clear(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Sets every index below the width (the "Top" of a must analysis).
+     */
+    public void setAll() {
+        Arrays.fill(words, -1L);
+        int tail = width & 63;
+        if (tail != 0) {
+            words[words.length - 1] = (1L << tail) - 1;
+        }
+    }
+
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Overwrites this vector with the contents of another of the same width.
+     */
+    public void copyFrom(BitVector other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    /**
+     * Intersects this vector with another in place (the meet of a must analysis).
+     */
+    public void and(BitVector other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+
+    /**
+     * Unions this vector with another in place.
+     */
+    public void or(BitVector other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * Removes every index of another vector from this one in place.
+     */
+    public void andNot(BitVector other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    /**
+     * Returns the lowest set index at or above from, or -1 if there is none.
+     */
+    public int nextSetBit(int from) {
+        if (from >= width) return -1;
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BitVector)) return false;
+        BitVector other = (BitVector) o;
+        return width == other.width && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,191 @@
+package dfa;
+
+import cfg.*;
+import ir.*;
+import java.util.*;
+
+/**
+ * BlockSummary is the definite-assignment transfer function of one BasicBlock,
+ * computed once from its instructions.
+ *
+ * A definition is initialized iff all variables it reads are initialized, so
+ * at the block's exit every variable the block defines is initialized iff a
+ * fixed set of variables was initialized at its entry (the upward-exposed
+ * variables its last definition transitively depends on). The summary
+ * therefore stores:
+ * - KILL: every variable defined in the block,
+ * - GEN: the defined variables that depend on nothing (e.g. constants),
+ * - conditional GENs: defined variables together with their dependencies.
+ *
+ * OUT = (IN - KILL) + GEN + { d | deps(d) is a subset of IN }
+ *
+ * Block-local temporaries (see VariableNumbering) are resolved in the same
+ * scan: a use of one is replaced by its definition's dependencies, so deps
+ * and the three sets above only ever name values of the universe.
+ *
+ * The per-instruction def/use indices are kept as well, so passes that need
+ * per-instruction results (reporting) do not re-read the IR. The operands
+ * are read from the packed IR through the block's cursor.
+ */
+public final class BlockSummary {
+    private static final int[] NO_USES = new int[0];
+
+    // Numbering the indices below refer to
+    private final VariableNumbering numbering;
+
+    // Per instruction: the defined index (-1 if none) and the used indices
+    private final int[] defs;
+    private final int[][] uses;
+
+    private final BitVector kill;
+    private final BitVector gen;
+    private final int[] conditionalTargets;
+    private final int[][] conditionalDeps;
+
+    private BlockSummary(BasicBlock block, VariableNumbering numbering) {
+        this.numbering = numbering;
+        int count = block.size();
+        int width = numbering.size();
+        this.defs = new int[count];
+        this.uses = new int[count][];
+        this.kill = new BitVector(width);
+        this.gen = new BitVector(width);
+
+        // Dependencies (upward-exposed variables, sorted) of the latest
+        // definition of each index, in the numbering's reusable scratch;
+        // defined lists the indices set there, in order of first definition
+        int[][] depsOf = numbering.summaryScratch();
+        int[] defined = new int[count];
+        int definedCount = 0;
+        for (PackedIr.Cursor c = block.cursor(); c.next(); ) {
+            int i = c.offset();
+
+            // Read the instruction's operand slots: up to two temps or one variable
+            int u1 = -1, u2 = -1;
+            if (c.useTemp1() != PackedIr.NONE) u1 = numbering.indexOfTemp(c.useTemp1());
+            if (c.useTemp2() != PackedIr.NONE) u2 = numbering.indexOfTemp(c.useTemp2());
+            if (c.useVar() != IrVariables.NONE) u1 = numbering.indexOfVar(c.useVar());
+            int[] u;
+            if (u1 < 0) u = NO_USES;
+            else if (u2 < 0 || u2 == u1) u = new int[] { u1 };
+            else u = new int[] { u1, u2 };
+            uses[i] = u;
+
+            defs[i] = -1;
+            if (c.defTemp() != PackedIr.NONE) defs[i] = numbering.indexOfTemp(c.defTemp());
+            if (c.defVar() != IrVariables.NONE) defs[i] = numbering.indexOfVar(c.defVar());
+            if (defs[i] >= 0) {
+                int d = defs[i];
+                if (!numbering.isBlockLocal(d)) kill.set(d);
+                int[] deps = NO_USES;
+                for (int index : u) {
+                    int[] inner = depsOf[index];
+                    deps = union(deps, (inner != null) ? inner : new int[] { index });
+                }
+                if (depsOf[d] == null) defined[definedCount++] = d;
+                depsOf[d] = deps;
+            }
+        }
+
+        // Split the final definitions into unconditional and conditional GENs
+        // (block-local temporaries are dead at the exit and only served to
+        // resolve the dependencies of later definitions in this block), and
+        // leave the scratch cleared for the next block
+        int[] targets = new int[definedCount];
+        int[][] targetDeps = new int[definedCount][];
+        int conditional = 0;
+        for (int k = 0; k < definedCount; k++) {
+            int d = defined[k];
+            int[] deps = depsOf[d];
+            depsOf[d] = null;
+            if (numbering.isBlockLocal(d)) {
+                continue;
+            }
+            if (deps.length == 0) {
+                gen.set(d);
+            } else {
+                targets[conditional] = d;
+                targetDeps[conditional++] = deps;
+            }
+        }
+        this.conditionalTargets = Arrays.copyOf(targets, conditional);
+        this.conditionalDeps = Arrays.copyOf(targetDeps, conditional);
+    }
+
+    /**
+     * Union of two sorted, duplicate-free index arrays; returns one of them
+     * when it already contains the other.
+     */
+    private static int[] union(int[] a, int[] b) {
+        if (b.length == 0) return a;
+        if (a.length == 0) return b;
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) merged[n++] = a[i++];
+            else if (a[i] > b[j]) merged[n++] = b[j++];
+            else { merged[n++] = a[i++]; j++; }
+        }
+        while (i < a.length) merged[n++] = a[i++];
+        while (j < b.length) merged[n++] = b[j++];
+        if (n == a.length) return a;
+        if (n == b.length) return b;
+        return Arrays.copyOf(merged, n);
+    }
+
+    /**
+     * Gets the summary of a block for the given numbering, computing and
+     * caching it on the block the first time.
+     */
+    public static BlockSummary of(BasicBlock block, VariableNumbering numbering) {
+        BlockSummary summary = block.getSummary();
+        if (summary == null || summary.numbering != numbering) {
+            summary = new BlockSummary(block, numbering);
+            block.setSummary(summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Applies the transfer function: writes into out the variables initialized
+     * at the block's exit given those initialized at its entry.
+     */
+    public void apply(BitVector in, BitVector out) {
+        out.copyFrom(in);
+        out.andNot(kill);
+        out.or(gen);
+        for (int i = 0; i < conditionalTargets.length; i++) {
+            if (containsAll(in, conditionalDeps[i])) {
+                out.set(conditionalTargets[i]);
+            }
+        }
+    }
+
+    private static boolean containsAll(BitVector set, int[] indices) {
+        for (int index : indices) {
+            if (!set.get(index)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of instructions in the block.
+     */
+    public int size() {
+        return defs.length;
+    }
+
+    /**
+     * Index defined by the i-th instruction, or -1 if it defines nothing.
+     */
+    public int defOf(int i) {
+        return defs[i];
+    }
+
+    /**
+     * Indices read by the i-th instruction (shared array, do not modify).
+     */
+    public int[] usesOf(int i) {
+        return uses[i];
+    }
+}
@@ -0,0 +1,41 @@
+package dfa;
+
+import cfg.*;
+
+/**
+ * DataflowAnalysis is what a monotone bit-vector analysis supplies to a
+ * DataflowSolver: the width of its facts, their lattice, the direction
+ * facts flow in, the facts at the boundary of the CFG and the transfer
+ * function of a block. The solver supplies the worklist, the storage of the
+ * IN/OUT vectors and the convergence statistics.
+ *
+ * "Input" and "output" below follow the direction: for a FORWARD analysis
+ * the input of a block is its IN fact and the output its OUT fact, for a
+ * BACKWARD analysis the other way round.
+ */
+public interface DataflowAnalysis {
+    enum Direction { FORWARD, BACKWARD }
+
+    Direction getDirection();
+
+    Lattice getLattice();
+
+    /**
+     * Number of bits of every fact.
+     */
+    int getWidth();
+
+    /**
+     * Writes the input fact of a boundary block: for FORWARD the entry block
+     * and blocks without predecessors, for BACKWARD blocks without successors.
+     * Called on every visit of such a block; the outputs of the block's
+     * predecessors (e.g. back edges into the entry block) are then met in.
+     */
+    void boundary(BasicBlock block, BitVector input);
+
+    /**
+     * Writes into output the block's output fact given its input fact. Must
+     * be monotone and must not keep either vector.
+     */
+    void transfer(BasicBlock block, BitVector input, BitVector output);
+}
@@ -0,0 +1,153 @@
+package dfa;
+
+import cfg.*;
+import java.util.*;
+
+/**
+ * DataflowSolver computes the maximal fixed point of a DataflowAnalysis on a
+ * Control Flow Graph with a worklist. Every block starts at the lattice's top
+ * and every vector is updated in place, so once the vectors exist the fixed
+ * point does not allocate.
+ */
+public class DataflowSolver {
+    private final ControlFlowGraph cfg;
+    private final DataflowAnalysis analysis;
+    private final boolean forward;
+    // Facts at the entry/exit of each block (indexed by block id)
+    private final BitVector[] inSets;
+    private final BitVector[] outSets;
+
+    // Convergence statistics of the last run
+    private int blockVisits = 0;
+    private int changes = 0;
+    private int sweeps = 0;
+
+    public DataflowSolver(ControlFlowGraph cfg, DataflowAnalysis analysis) {
+        this.cfg = cfg;
+        this.analysis = analysis;
+        this.forward = analysis.getDirection() == DataflowAnalysis.Direction.FORWARD;
+        int n = cfg.getBlocks().size();
+        int width = analysis.getWidth();
+        Lattice lattice = analysis.getLattice();
+        inSets = new BitVector[n];
+        outSets = new BitVector[n];
+        for (BasicBlock block : cfg.getBlocks()) {
+            BitVector in = new BitVector(width);
+            BitVector out = new BitVector(width);
+            lattice.top(in);
+            lattice.top(out);
+            inSets[block.getId()] = in;
+            outSets[block.getId()] = out;
+        }
+    }
+
+    /**
+     * Executes the fixed-point iteration.
+     * Blocks are visited in reverse postorder for a forward analysis and in
+     * postorder for a backward one, so in loop-free code every block's
+     * inputs are final before it is visited. A block is only re-queued when
+     * the output of one of the blocks it reads from actually changed; blocks
+     * are taken in order from a pending set, and each wrap-around starts a
+     * new sweep. One scratch vector holds the new output.
+     */
+    public void run() {
+        List<BasicBlock> order = cfg.postorder();
+        if (forward) {
+            Collections.reverse(order);
+        }
+        int n = order.size();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order.get(i).getId()] = i;
+        }
+
+        BitVector[] inputs = forward ? inSets : outSets;
+        BitVector[] outputs = forward ? outSets : inSets;
+        Lattice lattice = analysis.getLattice();
+
+        // Every block is visited at least once, including unreachable ones
+        BitSet pending = new BitSet(n);
+        pending.set(0, n);
+        int cursor = 0;
+        sweeps = (n > 0) ? 1 : 0;
+        BitVector scratch = new BitVector(analysis.getWidth());
+
+        while (!pending.isEmpty()) {
+            int next = pending.nextSetBit(cursor);
+            if (next < 0) {
+                // Wrapped around: start another pass over the remaining blocks
+                next = pending.nextSetBit(0);
+                sweeps++;
+            }
+            pending.clear(next);
+            cursor = next + 1;
+
+            BasicBlock block = order.get(next);
+            blockVisits++;
+
+            // Input = meet of the outputs of the blocks flowing into this one;
+            // at a boundary block the boundary value is met in as well, so an
+            // entry block that is also a loop header still sees its back edges
+            BitVector input = inputs[block.getId()];
+            List<BasicBlock> sources = forward ? block.getPredecessors() : block.getSuccessors();
+            int first = 0;
+            if (sources.isEmpty() || (forward && block.isEntry())) {
+                analysis.boundary(block, input);
+            } else {
+                input.copyFrom(outputs[sources.get(0).getId()]);
+                first = 1;
+            }
+            for (int i = first; i < sources.size(); i++) {
+                lattice.meet(input, outputs[sources.get(i).getId()]);
+            }
+
+            // Output = transfer(block, input)
+            analysis.transfer(block, input, scratch);
+            BitVector output = outputs[block.getId()];
+            if (!scratch.equals(output)) {
+                output.copyFrom(scratch);
+                changes++;
+                for (BasicBlock target : forward ? block.getSuccessors() : block.getPredecessors()) {
+                    pending.set(position[target.getId()]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the fact at the entry of a block. The returned vector is owned by
+     * the solver.
+     */
+    public BitVector getIn(BasicBlock block) {
+        return inSets[block.getId()];
+    }
+
+    /**
+     * Gets the fact at the exit of a block. The returned vector is owned by
+     * the solver.
+     */
+    public BitVector getOut(BasicBlock block) {
+        return outSets[block.getId()];
+    }
+
+    /**
+     * Number of times a block's transfer function was applied.
+     */
+    public int getBlockVisits() {
+        return blockVisits;
+    }
+
+    /**
+     * Number of block visits that changed the block's output fact.
+     */
+    public int getChanges() {
+        return changes;
+    }
+
+    /**
+     * Number of passes over the visiting order needed to reach the fixed point.
+     */
+    public int getSweeps() {
+        return sweeps;
+    }
+}
@@ -0,0 +1,27 @@
+package dfa;
+
+/**
+ * Finding - One use of a variable that may not be initialized.
+ *
+ * Records the source variable name, the function (CFG name) and line
+ * of the use, and the id of the basic block holding it, so tools can
+ * point at the exact read rather than just the variable.
+ */
+public final class Finding {
+    public final String variable;
+    public final String function;
+    public final int line;
+    public final int blockId;
+
+    public Finding(String variable, String function, int line, int blockId) {
+        this.variable = variable;
+        this.function = function;
+        this.line = line;
+        this.blockId = blockId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s in %s at line %d (block %d)", variable, function, line, blockId);
+    }
+}
@@ -0,0 +1,16 @@
+package dfa;
+
+import java.util.List;
+
+/**
+ * FindingListener - Receives the findings of each analyzed CFG as soon as
+ * its analysis is done, so results can be streamed instead of collected.
+ */
+public interface FindingListener {
+    /**
+     * Called once per CFG, globals first, then functions in IR order.
+     * @param function The CFG's name (see ControlFlowGraph.getName).
+     * @param findings Its findings, in block and instruction order.
+     */
+    void analyzed(String function, List<Finding> findings);
+}
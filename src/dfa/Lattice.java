@@ -0,0 +1,47 @@
+package dfa;
+
+/**
+ * Lattice of a bit-vector data flow analysis: the powerset of the analysis'
+ * universe, ordered so that facts only move down from top() during the
+ * fixed point, with meet() combining the facts of converging paths.
+ *
+ * MUST is the lattice of "on every path" analyses (definite assignment):
+ * top is the full set and meet is intersection. MAY is the lattice of "on
+ * some path" analyses (liveness): top is the empty set and meet is union.
+ */
+public interface Lattice {
+    /**
+     * Overwrites a vector with the top element, the optimistic starting
+     * fact of every block.
+     */
+    void top(BitVector value);
+
+    /**
+     * Combines another fact into a vector in place.
+     */
+    void meet(BitVector into, BitVector other);
+
+    Lattice MUST = new Lattice() {
+        @Override
+        public void top(BitVector value) {
+            value.setAll();
+        }
+
+        @Override
+        public void meet(BitVector into, BitVector other) {
+            into.and(other);
+        }
+    };
+
+    Lattice MAY = new Lattice() {
+        @Override
+        public void top(BitVector value) {
+            value.clearAll();
+        }
+
+        @Override
+        public void meet(BitVector into, BitVector other) {
+            into.or(other);
+        }
+    };
+}
@@ -0,0 +1,246 @@
+package dfa;
+
+import cfg.*;
+import java.util.*;
+
+/**
+ * LivenessAnalysis computes the live variables of a Control Flow Graph: a
+ * backward "May" analysis where a value is live at a point if some path from
+ * that point reads it before redefining it. It drives dead-store removal and
+ * temporary reuse.
+ *
+ * USE[B] = values read in B before any definition in B
+ * DEF[B] = values defined in B
+ * OUT[B] = Union of IN[S] over the successors S of B (liveAtExit if none)
+ * IN[B]  = USE[B] + (OUT[B] - DEF[B])
+ *
+ * Block-level sets range over the universe of the VariableNumbering:
+ * block-local temporaries are by construction never live across a block
+ * boundary. Per-instruction sets include them. A store to a field or array
+ * element defines its pseudo variable (see IrVariables), which does not
+ * make an earlier store to a different element dead.
+ *
+ * The analysis is a backward DataflowAnalysis over the MAY lattice, solved
+ * by a DataflowSolver.
+ */
+public class LivenessAnalysis implements DataflowAnalysis {
+    private ControlFlowGraph cfg;
+    private VariableNumbering numbering;
+    // USE/DEF of each block (indexed by block id)
+    private BitVector[] useSets;
+    private BitVector[] defSets;
+    // Values live when a block without successors is left
+    private BitVector exitState;
+    // Worklist, live-in/live-out storage and statistics
+    private DataflowSolver solver;
+
+    public LivenessAnalysis(ControlFlowGraph cfg) {
+        this(cfg, new BitSet());
+    }
+
+    /**
+     * Creates an analysis where the given named variables (IrVariables ids)
+     * are live when the CFG is left, e.g. globals read by later code.
+     * Variables that do not appear in the CFG are ignored.
+     */
+    public LivenessAnalysis(ControlFlowGraph cfg, BitSet liveAtExit) {
+        this(cfg, new VariableNumbering(cfg), liveAtExit);
+    }
+
+    /**
+     * Creates an analysis over an existing numbering of the CFG, e.g. the
+     * one of a DfaEngine run on the same CFG, so that both reuse the block
+     * summaries cached on its blocks instead of rebuilding them.
+     */
+    public LivenessAnalysis(ControlFlowGraph cfg, VariableNumbering numbering, BitSet liveAtExit) {
+        this.cfg = cfg;
+        this.numbering = numbering;
+        int width = numbering.size();
+        this.exitState = new BitVector(width);
+        for (int var = liveAtExit.nextSetBit(0); var >= 0; var = liveAtExit.nextSetBit(var + 1)) {
+            int index = numbering.indexOfVar(var);
+            if (index >= 0) {
+                exitState.set(index);
+            }
+        }
+
+        int n = cfg.getBlocks().size();
+        useSets = new BitVector[n];
+        defSets = new BitVector[n];
+        for (BasicBlock block : cfg.getBlocks()) {
+            BitVector use = new BitVector(width);
+            BitVector def = new BitVector(width);
+            BlockSummary summary = BlockSummary.of(block, numbering);
+            for (int i = 0; i < summary.size(); i++) {
+                for (int u : summary.usesOf(i)) {
+                    if (!numbering.isBlockLocal(u) && !def.get(u)) {
+                        use.set(u);
+                    }
+                }
+                int d = summary.defOf(i);
+                if (d >= 0 && !numbering.isBlockLocal(d)) {
+                    def.set(d);
+                }
+            }
+            useSets[block.getId()] = use;
+            defSets[block.getId()] = def;
+        }
+        // Every block starts empty ("Bottom" of liveness, the top of MAY)
+        this.solver = new DataflowSolver(cfg, this);
+    }
+
+    @Override
+    public Direction getDirection() {
+        return Direction.BACKWARD;
+    }
+
+    @Override
+    public Lattice getLattice() {
+        return Lattice.MAY;
+    }
+
+    @Override
+    public int getWidth() {
+        return numbering.size();
+    }
+
+    /**
+     * Blocks without successors leave the CFG with liveAtExit live.
+     */
+    @Override
+    public void boundary(BasicBlock block, BitVector out) {
+        out.copyFrom(exitState);
+    }
+
+    /**
+     * IN[B] = USE[B] + (OUT[B] - DEF[B])
+     */
+    @Override
+    public void transfer(BasicBlock block, BitVector out, BitVector in) {
+        in.copyFrom(out);
+        in.andNot(defSets[block.getId()]);
+        in.or(useSets[block.getId()]);
+    }
+
+    /**
+     * Executes the fixed-point iteration (see DataflowSolver.run): OUT[B] is
+     * the union of IN[S] over the successors S of B, visited in postorder.
+     */
+    public void run() {
+        solver.run();
+    }
+
+    /**
+     * Gets the values live at the entry of a block, as dense indices of
+     * getNumbering(). The returned vector is owned by the analysis.
+     */
+    public BitVector getLiveIn(BasicBlock block) {
+        return solver.getIn(block);
+    }
+
+    /**
+     * Gets the values live at the exit of a block, as dense indices of
+     * getNumbering(). The returned vector is owned by the analysis.
+     */
+    public BitVector getLiveOut(BasicBlock block) {
+        return solver.getOut(block);
+    }
+
+    /**
+     * Gets the named variables live at the entry of a block, as IrVariables
+     * ids (temporaries are left out).
+     */
+    public BitSet getLiveInVariables(BasicBlock block) {
+        return variablesOf(getLiveIn(block));
+    }
+
+    /**
+     * Gets the named variables live at the exit of a block, as IrVariables
+     * ids (temporaries are left out).
+     */
+    public BitSet getLiveOutVariables(BasicBlock block) {
+        return variablesOf(getLiveOut(block));
+    }
+
+    private BitSet variablesOf(BitVector vector) {
+        BitSet variables = new BitSet();
+        for (int i = vector.nextSetBit(0); i >= 0; i = vector.nextSetBit(i + 1)) {
+            if (!numbering.isTemp(i)) {
+                variables.set(numbering.varOf(i));
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Gets the values live just before each instruction of a block, indexed
+     * by the instruction's offset in the block. The vectors are
+     * getNumbering().total() wide, so block-local temporaries are included.
+     * Computed by one backward scan of the block per call.
+     */
+    public BitVector[] getInstructionLiveIn(BasicBlock block) {
+        return scan(block, true);
+    }
+
+    /**
+     * Gets the values live just after each instruction of a block, indexed
+     * by the instruction's offset in the block (see getInstructionLiveIn).
+     */
+    public BitVector[] getInstructionLiveOut(BasicBlock block) {
+        return scan(block, false);
+    }
+
+    private BitVector[] scan(BasicBlock block, boolean before) {
+        BlockSummary summary = BlockSummary.of(block, numbering);
+        BitVector[] result = new BitVector[summary.size()];
+        BitVector live = new BitVector(numbering.total());
+        BitVector out = getLiveOut(block);
+        for (int i = out.nextSetBit(0); i >= 0; i = out.nextSetBit(i + 1)) {
+            live.set(i);
+        }
+        for (int i = summary.size() - 1; i >= 0; i--) {
+            if (!before) {
+                result[i] = new BitVector(live);
+            }
+            int d = summary.defOf(i);
+            if (d >= 0) {
+                live.clear(d);
+            }
+            for (int u : summary.usesOf(i)) {
+                live.set(u);
+            }
+            if (before) {
+                result[i] = new BitVector(live);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the dense numbering of the variables this analysis' vectors are keyed by.
+     */
+    public VariableNumbering getNumbering() {
+        return numbering;
+    }
+
+    /**
+     * Number of times a block's transfer function was applied.
+     */
+    public int getBlockVisits() {
+        return solver.getBlockVisits();
+    }
+
+    /**
+     * Number of block visits that changed the block's IN set.
+     */
+    public int getInChanges() {
+        return solver.getChanges();
+    }
+
+    /**
+     * Number of passes over the postorder needed to reach the fixed point.
+     */
+    public int getSweeps() {
+        return solver.getSweeps();
+    }
+}
@@ -0,0 +1,131 @@
+package dfa;
+
+import cfg.*;
+import ir.IrVariables;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ProgramAnalyzer runs the uninitialized variable analysis over a whole
+ * program split into one Control Flow Graph per function
+ * (see ControlFlowGraph.buildPerFunction).
+ *
+ * The global initialization code is analyzed first; the globals it
+ * definitely initializes form the entry state of every function. The
+ * functions are independent of each other, so they are analyzed in
+ * parallel on a ForkJoinPool. Results are merged in function order into a
+ * sorted set, so the output does not depend on scheduling. An optional
+ * FindingListener sees each function's findings as soon as that function
+ * and all the ones before it are done.
+ */
+public class ProgramAnalyzer {
+    private final List<ControlFlowGraph> cfgs;
+    private final IrVariables variables;
+    private final ForkJoinPool pool;
+    // Per-CFG analyzers of the last run, in the order of cfgs
+    private final List<UninitializedAnalyzer> analyzers;
+    // Receives per-CFG findings as they are merged, or null
+    private FindingListener listener = null;
+    // Whether pool tasks measure what they allocate (see getWorkerAllocatedBytes)
+    private boolean measureAllocation = false;
+    private final LongAdder workerBytes = new LongAdder();
+
+    /**
+     * @param cfgs The global initialization CFG followed by one CFG per function.
+     * @param variables The side table of the IR's variable ids.
+     */
+    public ProgramAnalyzer(List<ControlFlowGraph> cfgs, IrVariables variables) {
+        this(cfgs, variables, ForkJoinPool.commonPool());
+    }
+
+    public ProgramAnalyzer(List<ControlFlowGraph> cfgs, IrVariables variables, ForkJoinPool pool) {
+        this.cfgs = cfgs;
+        this.variables = variables;
+        this.pool = pool;
+        this.analyzers = new ArrayList<>();
+    }
+
+    /**
+     * Streams each CFG's findings to the given listener during analyze().
+     */
+    public void setFindingListener(FindingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Makes analyze() measure the bytes its pool tasks allocate on threads
+     * other than the caller's.
+     */
+    public void setMeasureAllocation(boolean measureAllocation) {
+        this.measureAllocation = measureAllocation;
+    }
+
+    /**
+     * Bytes allocated by the last run on pool threads (work done on the
+     * calling thread is visible to the caller's own ThreadMXBean reading);
+     * 0 unless setMeasureAllocation(true).
+     */
+    public long getWorkerAllocatedBytes() {
+        return workerBytes.sum();
+    }
+
+    /**
+     * Performs the analysis on all functions.
+     * @return The sorted names of the variables that may be used uninitialized.
+     */
+    public Set<String> analyze() {
+        Set<String> uninitialized = new TreeSet<>();
+        analyzers.clear();
+        workerBytes.reset();
+        if (cfgs.isEmpty()) {
+            return uninitialized;
+        }
+
+        // Step 1: The global initialization code runs first, on its own.
+        UninitializedAnalyzer globals = new UninitializedAnalyzer(cfgs.get(0), variables);
+        uninitialized.addAll(globals.analyze());
+        analyzers.add(globals);
+        report(globals);
+        // Only read from here on, so the tasks can share it
+        BitSet initializedGlobals = globals.getInitializedAtExit();
+
+        // Step 2: Analyze every function in parallel, starting from the initialized globals.
+        List<ForkJoinTask<UninitializedAnalyzer>> tasks = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        for (ControlFlowGraph function : cfgs.subList(1, cfgs.size())) {
+            tasks.add(pool.submit(() -> {
+                boolean measure = measureAllocation && Thread.currentThread() != caller;
+                long bytes = measure ? metrics.Allocation.currentThreadBytes() : 0;
+                UninitializedAnalyzer analyzer = new UninitializedAnalyzer(function, variables, initializedGlobals);
+                analyzer.analyze();
+                if (measure && bytes >= 0) {
+                    workerBytes.add(metrics.Allocation.currentThreadBytes() - bytes);
+                }
+                return analyzer;
+            }));
+        }
+
+        // Step 3: Merge the results in function order.
+        for (ForkJoinTask<UninitializedAnalyzer> task : tasks) {
+            UninitializedAnalyzer analyzer = task.join();
+            uninitialized.addAll(analyzer.getUninitializedVariables());
+            analyzers.add(analyzer);
+            report(analyzer);
+        }
+        return uninitialized;
+    }
+
+    private void report(UninitializedAnalyzer analyzer) {
+        if (listener != null) {
+            listener.analyzed(analyzer.getCfg().getName(), analyzer.getFindings());
+        }
+    }
+
+    /**
+     * Gets the per-CFG analyzers of the last run (globals first, then functions in IR order).
+     */
+    public List<UninitializedAnalyzer> getAnalyzers() {
+        return analyzers;
+    }
+}
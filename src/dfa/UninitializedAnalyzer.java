@@ -11,16 +11,39 @@ import java.util.*;
  */
 public class UninitializedAnalyzer {
     private ControlFlowGraph cfg;
+    // Source names of the IR variables, for reporting
+    private IrVariables variables;
     // Set to store names of variables found to be potentially uninitialized
     private Set<String> uninitializedVariables;
+    // Every offending use, in block and instruction order
+    private List<Finding> findings;
+    // IrVariables ids of the variables initialized when the CFG is entered
+    private BitSet initializedAtEntry;
+    // The engine of the last analysis (kept for its convergence statistics)
+    private DfaEngine engine;
 
     /**
      * Constructs a new analyzer for the given Control Flow Graph.
      * @param cfg The Control Flow Graph to analyze.
+     * @param variables The side table of the IR's variable ids.
      */
-    public UninitializedAnalyzer(ControlFlowGraph cfg) {
+    public UninitializedAnalyzer(ControlFlowGraph cfg, IrVariables variables) {
+        this(cfg, variables, new BitSet());
+    }
+
+    /**
+     * Constructs a new analyzer for a Control Flow Graph whose entry is reached
+     * with the given variables already initialized.
+     * @param cfg The Control Flow Graph to analyze.
+     * @param variables The side table of the IR's variable ids.
+     * @param initializedAtEntry IrVariables ids of the variables initialized at the entry.
+     */
+    public UninitializedAnalyzer(ControlFlowGraph cfg, IrVariables variables, BitSet initializedAtEntry) {
         this.cfg = cfg;
+        this.variables = variables;
+        this.initializedAtEntry = initializedAtEntry;
         this.uninitializedVariables = new TreeSet<>();
+        this.findings = new ArrayList<>();
     }
 
     /**
@@ -30,38 +53,52 @@ public class UninitializedAnalyzer {
     public Set<String> analyze() {
         // Step 1: Run the Data Flow Analysis engine to compute IN/OUT sets for each block.
         // The engine performs a "Must" analysis for definite assignment.
-        DfaEngine engine = new DfaEngine(cfg);
+        engine = new DfaEngine(cfg, initializedAtEntry);
         engine.run();
 
         // Step 2: Iterate through each basic block and its instructions to find violations.
+        VariableNumbering numbering = engine.getNumbering();
+        BitVector currentInitialized = new BitVector(numbering.size());
+        // Block-local temporaries, by index - size(). Never cleared: every use
+        // of one follows its definition in the same block, which sets its bit
+        BitVector localInitialized = new BitVector(numbering.localCount());
+        int universe = numbering.size();
         for (BasicBlock block : cfg.getBlocks()) {
             // Start with the set of variables guaranteed to be initialized at the block's entry.
-            Set<String> currentInitialized = new HashSet<>(engine.getInSet(block));
+            currentInitialized.copyFrom(engine.getIn(block));
             
-            for (IrCommand cmd : block.getInstructions()) {
+            // Reuse the per-instruction def/use indices cached in the block summary.
+            BlockSummary summary = BlockSummary.of(block, numbering);
+            PackedIr ir = block.getIr();
+            for (int i = 0; i < summary.size(); i++) {
                 // Check all variables used (read) by this instruction.
-                Set<String> uses = DfaEngine.getUsedVars(cmd);
-                
-                for (String use : uses) {
+                boolean allUsesInitialized = true;
+                for (int use : summary.usesOf(i)) {
                     // If a variable is used but not in the initialized set, it's a potential error.
-                    if (!currentInitialized.contains(use)) {
-                        String baseName = getBaseName(use);
-                        if (baseName != null) {
-                            uninitializedVariables.add(baseName);
+                    boolean initialized = (use < universe)
+                        ? currentInitialized.get(use)
+                        : localInitialized.get(use - universe);
+                    if (!initialized) {
+                        allUsesInitialized = false;
+                        // Internal compiler temporaries are not reported.
+                        if (!numbering.isTemp(use)) {
+                            String variable = variables.nameOf(numbering.varOf(use));
+                            uninitializedVariables.add(variable);
+                            findings.add(new Finding(variable, cfg.getName(), ir.line(block.getStart() + i), block.getId()));
                         }
                     }
                 }
                 
                 // Update the initialized set based on what this instruction defines (writes).
-                Set<String> defs = DfaEngine.getDefinedVars(cmd);
                 // A definition only results in an initialized variable if all its inputs were initialized.
-                boolean allUsesInitialized = currentInitialized.containsAll(uses);
-                
-                for (String d : defs) {
-                    // Remove the defined variable first to handle re-assignments.
-                    currentInitialized.remove(d);
+                int d = summary.defOf(i);
+                if (d >= 0) {
+                    BitVector target = (d < universe) ? currentInitialized : localInitialized;
+                    int bit = (d < universe) ? d : d - universe;
                     if (allUsesInitialized) {
-                        currentInitialized.add(d);
+                        target.set(bit);
+                    } else {
+                        target.clear(bit);
                     }
                 }
             }
@@ -71,29 +108,43 @@ public class UninitializedAnalyzer {
     }
 
     /**
-     * Normalizes a unique variable name back to its base name.
-     * Internal compiler temporaries (Temp_N) are ignored.
-     * Unique suffixes (like _1 in x_1) are stripped to return the original variable name.
-     * 
-     * @param uniqueName The unique name used in the IR.
-     * @return The original variable name, or null if it's a temporary.
+     * Gets the variable names found by the last call to analyze().
      */
-    private String getBaseName(String uniqueName) {
-        if (uniqueName.startsWith("Temp_")) {
-            return null;
-        }
-        
-        int lastUnderscore = uniqueName.lastIndexOf('_');
-        if (lastUnderscore != -1) {
-            String suffix = uniqueName.substring(lastUnderscore + 1);
-            try {
-                Integer.parseInt(suffix);
-                return uniqueName.substring(0, lastUnderscore);
-            } catch (NumberFormatException e) {
-                return uniqueName;
-            }
+    public Set<String> getUninitializedVariables() {
+        return uninitializedVariables;
+    }
+
+    /**
+     * Gets every use found by the last call to analyze() of a variable that
+     * may be uninitialized, with its line and block.
+     */
+    public List<Finding> getFindings() {
+        return findings;
+    }
+
+    /**
+     * Gets the IrVariables ids of the variables guaranteed to be initialized
+     * when the CFG's exit block finishes. Only valid after analyze().
+     */
+    public BitSet getInitializedAtExit() {
+        if (cfg.getExitBlock() == null) {
+            return (BitSet) initializedAtEntry.clone();
         }
-        
-        return uniqueName;
+        return engine.getOutVariables(cfg.getExitBlock());
+    }
+
+    /**
+     * Gets the Control Flow Graph this analyzer works on.
+     */
+    public ControlFlowGraph getCfg() {
+        return cfg;
+    }
+
+    /**
+     * Gets the data flow engine used by the last call to analyze(),
+     * e.g. to report how many block visits the fixed point took.
+     */
+    public DfaEngine getEngine() {
+        return engine;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package dfa;
+
+import cfg.*;
+import ir.*;
+import temp.*;
+import java.util.*;
+
+/**
+ * VariableNumbering assigns every named variable and temporary that appears
+ * in a Control Flow Graph a dense index, in order of first appearance.
+ * Temporaries are keyed by serial number and named variables by their
+ * IrVariables id, so both are array lookups and no names are built. The
+ * operands are read from the packed IR through each block's cursor.
+ *
+ * A pre-pass classifies every temporary as block-local or cross-block. A
+ * temporary is block-local when each of its uses is preceded by a definition
+ * in the same block, so its state at any use follows from a linear scan of
+ * that block alone. Named variables and cross-block temporaries form the
+ * universe tracked by the fixed point and get the indices 0 .. size()-1,
+ * which address the bits of the analysis BitVectors. Block-local temporaries
+ * get the indices size() .. total()-1 and never enter an IN/OUT set.
+ */
+public class VariableNumbering {
+    // Temp serial number - tempBase -> dense index (-1 if the temp does not appear)
+    private int[] tempIndices;
+    private int tempBase;
+    // IrVariables id -> dense index (-1 if the variable does not appear)
+    private int[] varIndices;
+    // Dense index -> IrVariables id, or IrVariables.NONE for temporaries
+    private int[] varIds;
+    private int size;
+    private int localCount;
+
+    // Per-index dependency lists reused by every BlockSummary built on this
+    // numbering; all null between two summaries
+    private int[][] summaryScratch;
+
+    public VariableNumbering(ControlFlowGraph cfg) {
+        // Temp serials are handed out per compilation, so the temps of one
+        // CFG occupy a narrow window of them; size the temp arrays to it
+        int lo = Integer.MAX_VALUE, hi = -1;
+        for (BasicBlock block : cfg.getBlocks()) {
+            for (PackedIr.Cursor c = block.cursor(); c.next(); ) {
+                if (c.defTemp() != PackedIr.NONE) {
+                    lo = Math.min(lo, c.defTemp());
+                    hi = Math.max(hi, c.defTemp());
+                }
+                if (c.useTemp1() != PackedIr.NONE) {
+                    lo = Math.min(lo, c.useTemp1());
+                    hi = Math.max(hi, c.useTemp1());
+                }
+                if (c.useTemp2() != PackedIr.NONE) {
+                    lo = Math.min(lo, c.useTemp2());
+                    hi = Math.max(hi, c.useTemp2());
+                }
+            }
+        }
+        this.tempBase = (hi < 0) ? 0 : lo;
+        this.tempIndices = new int[hi - tempBase + 1];
+        Arrays.fill(tempIndices, -1);
+        this.varIndices = new int[64];
+        Arrays.fill(varIndices, -1);
+        this.varIds = new int[64];
+        this.size = 0;
+
+        boolean[] crossBlock = classifyTemps(cfg);
+        int[] localTemps = new int[16];
+        for (BasicBlock block : cfg.getBlocks()) {
+            for (PackedIr.Cursor c = block.cursor(); c.next(); ) {
+                if (c.defTemp() != PackedIr.NONE) localTemps = number(c.defTemp() - tempBase, crossBlock, localTemps);
+                if (c.defVar() != IrVariables.NONE) numberVar(c.defVar());
+                if (c.useTemp1() != PackedIr.NONE) localTemps = number(c.useTemp1() - tempBase, crossBlock, localTemps);
+                if (c.useTemp2() != PackedIr.NONE) localTemps = number(c.useTemp2() - tempBase, crossBlock, localTemps);
+                if (c.useVar() != IrVariables.NONE) numberVar(c.useVar());
+            }
+        }
+
+        // Block-local temporaries were collected apart; number them above the universe
+        if (size + localCount > varIds.length) {
+            varIds = Arrays.copyOf(varIds, size + localCount);
+        }
+        for (int i = 0; i < localCount; i++) {
+            tempIndices[localTemps[i]] = size + i;
+            varIds[size + i] = IrVariables.NONE;
+        }
+    }
+
+    /**
+     * The pre-pass: a temporary is cross-block if some block reads it before
+     * (or without) defining it. Indexed by temp serial number - tempBase.
+     */
+    private boolean[] classifyTemps(ControlFlowGraph cfg) {
+        // Id of the last block that defined the temp so far (-1 if none)
+        int[] definedIn = new int[tempIndices.length];
+        Arrays.fill(definedIn, -1);
+        boolean[] crossBlock = new boolean[tempIndices.length];
+        for (BasicBlock block : cfg.getBlocks()) {
+            int id = block.getId();
+            for (PackedIr.Cursor c = block.cursor(); c.next(); ) {
+                int u1 = c.useTemp1();
+                int u2 = c.useTemp2();
+                int d = c.defTemp();
+                if (u1 != PackedIr.NONE && definedIn[u1 - tempBase] != id) crossBlock[u1 - tempBase] = true;
+                if (u2 != PackedIr.NONE && definedIn[u2 - tempBase] != id) crossBlock[u2 - tempBase] = true;
+                if (d != PackedIr.NONE) definedIn[d - tempBase] = id;
+            }
+        }
+        return crossBlock;
+    }
+
+    private int[] number(int slot, boolean[] crossBlock, int[] localTemps) {
+        if (tempIndices[slot] >= 0) {
+            return localTemps;
+        }
+        if (crossBlock[slot]) {
+            tempIndices[slot] = add(IrVariables.NONE);
+            return localTemps;
+        }
+        // Placeholder until the universe size is known (see the constructor)
+        tempIndices[slot] = Integer.MAX_VALUE;
+        if (localCount == localTemps.length) {
+            localTemps = Arrays.copyOf(localTemps, localCount * 2);
+        }
+        localTemps[localCount++] = slot;
+        return localTemps;
+    }
+
+    private void numberVar(int var) {
+        if (var >= varIndices.length) {
+            varIndices = grow(varIndices, var);
+        }
+        if (varIndices[var] < 0) {
+            varIndices[var] = add(var);
+        }
+    }
+
+    private int add(int var) {
+        if (size == varIds.length) {
+            varIds = Arrays.copyOf(varIds, size * 2);
+        }
+        varIds[size] = var;
+        return size++;
+    }
+
+    private static int[] grow(int[] indices, int key) {
+        int old = indices.length;
+        int[] grown = Arrays.copyOf(indices, Math.max(old * 2, key + 1));
+        Arrays.fill(grown, old, grown.length, -1);
+        return grown;
+    }
+
+    /**
+     * Gets the index of a temporary, or -1 if it does not appear in the CFG.
+     */
+    public int indexOf(Temp t) {
+        return indexOfTemp(t.getSerialNumber());
+    }
+
+    /**
+     * Gets the index of a temporary by serial number, or -1 if it does not
+     * appear in the CFG.
+     */
+    public int indexOfTemp(int serial) {
+        int slot = serial - tempBase;
+        return (slot >= 0 && slot < tempIndices.length) ? tempIndices[slot] : -1;
+    }
+
+    /**
+     * Gets the index of a named variable (an IrVariables id), or -1 if it
+     * does not appear in the CFG.
+     */
+    public int indexOfVar(int var) {
+        return (var >= 0 && var < varIndices.length) ? varIndices[var] : -1;
+    }
+
+    /**
+     * Is the index a compiler temporary (rather than a named variable)?
+     */
+    public boolean isTemp(int index) {
+        return varIds[index] == IrVariables.NONE;
+    }
+
+    /**
+     * Is the index a block-local temporary, outside the fixed point's universe?
+     */
+    public boolean isBlockLocal(int index) {
+        return index >= size;
+    }
+
+    /**
+     * Gets the IrVariables id of an index, or IrVariables.NONE for temporaries.
+     */
+    public int varOf(int index) {
+        return varIds[index];
+    }
+
+    /**
+     * Number of values the fixed point tracks: the named variables and the
+     * cross-block temporaries (the width of the IN/OUT vectors).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of block-local temporaries, left out of the universe.
+     */
+    public int localCount() {
+        return localCount;
+    }
+
+    /**
+     * Number of distinct variables and temporaries in the CFG.
+     */
+    public int total() {
+        return size + localCount;
+    }
+
+    /**
+     * Gets the scratch BlockSummary collects dependencies in, indexed by
+     * dense index; every entry is null again once a summary is built.
+     */
+    int[][] summaryScratch() {
+        if (summaryScratch == null) {
+            summaryScratch = new int[total()][];
+        }
+        return summaryScratch;
+    }
+}
@@ -14,21 +14,21 @@ import temp.*;
 
 public class IRcommandConstInt extends IrCommand
 {
-	Temp t;
 	int value;
 	
 	public IRcommandConstInt(Temp t, int value)
 	{
-		this.t = t;
+		super(IrOpcode.CONST_INT);
+		this.defTemp = t;
 		this.value = value;
 	}
 	
-	public Temp getDst() { return t; }
+	public Temp getDst() { return defTemp; }
 	public int getValue() { return value; }
 	
 	@Override
 	public String toString()
 	{
-		return String.format("Temp_%d := %d", t.getSerialNumber(), value);
+		return String.format("Temp_%d := %d", defTemp.getSerialNumber(), value);
 	}
 }
@@ -6,8 +6,10 @@ package ir;
 /*******************/
 /* GENERAL IMPORTS */
 /*******************/
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 import java.io.PrintWriter;
 
 /*******************/
@@ -16,47 +18,82 @@ import java.io.PrintWriter;
 
 public class Ir
 {
-	private IrCommand head=null;
-	private IrCommandList tail=null;
+	/***********************************************/
+	/* Commands are kept in a growable array, so   */
+	/* appending is amortized O(1) and the CFG     */
+	/* builder can index them without a copy ...   */
+	/***********************************************/
+	private static final int INITIAL_CAPACITY = 256;
+
+	private IrCommand[] commands = new IrCommand[INITIAL_CAPACITY];
+	private int size = 0;
+
+	/*****************************************/
+	/* Named operands of the emitted IR      */
+	/*****************************************/
+	private final IrVariables variables = new IrVariables();
+	public IrVariables getVariables()
+	{
+		return variables;
+	}
+
+	/*****************************************/
+	/* Label Factory (one per compilation)   */
+	/*****************************************/
+	private int labelCounter = 0;
+	public String getFreshLabel(String msg)
+	{
+		return String.format("Label_%d_%s", labelCounter++,msg);
+	}
+
+	/******************************************/
+	/* Add Ir command emitted for source line */
+	/******************************************/
+	public void AddIrCommand(IrCommand cmd, int line)
+	{
+		cmd.setLine(line);
+		AddIrCommand(cmd);
+	}
 
 	/******************/
 	/* Add Ir command */
 	/******************/
 	public void AddIrCommand(IrCommand cmd)
 	{
-		if ((head == null) && (tail == null))
-		{
-			this.head = cmd;
-		}
-		else if ((head != null) && (tail == null))
+		if (size == commands.length)
 		{
-			this.tail = new IrCommandList(cmd,null);
-		}
-		else
-		{
-			IrCommandList it = tail;
-			while ((it != null) && (it.tail != null))
-			{
-				it = it.tail;
-			}
-			it.tail = new IrCommandList(cmd,null);
+			commands = Arrays.copyOf(commands, commands.length * 2);
 		}
+		commands[size++] = cmd;
 	}
 
 	/********************************/
-	/* Get all commands as a List   */
+	/* Number of emitted commands   */
 	/********************************/
-	public List<IrCommand> getAllCommands()
+	public int size()
 	{
-		List<IrCommand> result = new ArrayList<>();
-		if (head != null) result.add(head);
-		IrCommandList curr = tail;
-		while (curr != null)
+		return size;
+	}
+
+	/********************************/
+	/* Command at a given position  */
+	/********************************/
+	public IrCommand get(int index)
+	{
+		if (index < 0 || index >= size)
 		{
-			result.add(curr.head);
-			curr = curr.tail;
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
 		}
-		return result;
+		return commands[index];
+	}
+
+	/*********************************************/
+	/* Get all commands as a read-only List view */
+	/* of the commands emitted so far (no copy)  */
+	/*********************************************/
+	public List<IrCommand> getAllCommands()
+	{
+		return new IrCommandView(commands, size);
 	}
 
 	/********************************/
@@ -64,12 +101,9 @@ public class Ir
 	/********************************/
 	public void printIR(PrintWriter writer)
 	{
-		if (head != null) writer.println(head.toString());
-		IrCommandList curr = tail;
-		while (curr != null)
+		for (int i = 0; i < size; i++)
 		{
-			writer.println(curr.head.toString());
-			curr = curr.tail;
+			writer.println(commands[i].toString(variables));
 		}
 	}
 
@@ -78,32 +112,42 @@ public class Ir
 	/********************************/
 	public void clear()
 	{
-		head = null;
-		tail = null;
+		commands = new IrCommand[INITIAL_CAPACITY];
+		size = 0;
+		variables.clear();
+		labelCounter = 0;
 	}
 
-	/**************************************/
-	/* USUAL SINGLETON IMPLEMENTATION ... */
-	/**************************************/
-	private static Ir instance = null;
+	/****************************************************/
+	/* Fixed-length view over the command array. Later  */
+	/* appends never write below 'size', and growing    */
+	/* replaces the array, so the view stays stable ... */
+	/****************************************************/
+	private static class IrCommandView extends AbstractList<IrCommand> implements RandomAccess
+	{
+		private final IrCommand[] commands;
+		private final int size;
 
-	/*****************************/
-	/* PREVENT INSTANTIATION ... */
-	/*****************************/
-	protected Ir() {}
+		IrCommandView(IrCommand[] commands, int size)
+		{
+			this.commands = commands;
+			this.size = size;
+		}
 
-	/******************************/
-	/* GET SINGLETON INSTANCE ... */
-	/******************************/
-	public static Ir getInstance()
-	{
-		if (instance == null)
+		@Override
+		public IrCommand get(int index)
+		{
+			if (index < 0 || index >= size)
+			{
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+			return commands[index];
+		}
+
+		@Override
+		public int size()
 		{
-			/*******************************/
-			/* [0] The instance itself ... */
-			/*******************************/
-			instance = new Ir();
+			return size;
 		}
-		return instance;
 	}
 }
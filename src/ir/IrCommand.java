@@ -10,15 +10,58 @@ package ir;
 /*******************/
 /* PROJECT IMPORTS */
 /*******************/
+import temp.*;
 
 public abstract class IrCommand
 {
-	/*****************/
-	/* Label Factory */
-	/*****************/
-	protected static int labelCounter = 0;
-	public    static String getFreshLabel(String msg)
+	/**********************************************************/
+	/* Uniform def/use operand slots. Every command defines   */
+	/* at most one temp or named variable, and reads at most  */
+	/* two temps or one named variable. Named variables are   */
+	/* IrVariables ids. Unused slots are null (IrVariables.   */
+	/* NONE for variables) so analyses can read operands      */
+	/* without allocating and without an instanceof cascade   */
+	/* over the command classes                               */
+	/**********************************************************/
+	public final IrOpcode opcode;
+	protected Temp defTemp  = null;
+	protected int  defVar   = IrVariables.NONE;
+	protected Temp useTemp1 = null;
+	protected Temp useTemp2 = null;
+	protected int  useVar   = IrVariables.NONE;
+
+	/* Source line the command was emitted for, 0 if unknown */
+	protected int line = 0;
+
+	protected IrCommand(IrOpcode opcode)
+	{
+		this.opcode = opcode;
+	}
+
+	public final int  getLine()         { return line; }
+	public final void setLine(int line) { this.line = line; }
+
+	public final IrOpcode getOpcode() { return opcode; }
+
+	/*****************************************/
+	/* Temp / named variable WRITTEN, if any */
+	/*****************************************/
+	public final Temp getDefTemp() { return defTemp; }
+	public final int  getDefVar()  { return defVar; }
+
+	/**************************************/
+	/* Temps / named variable READ, if any */
+	/**************************************/
+	public final Temp getUseTemp1() { return useTemp1; }
+	public final Temp getUseTemp2() { return useTemp2; }
+	public final int  getUseVar()   { return useVar; }
+
+	/******************************************/
+	/* Text with variables under their source */
+	/* names (toString() only has their ids)  */
+	/******************************************/
+	public String toString(IrVariables variables)
 	{
-		return String.format("Label_%d_%s", labelCounter++,msg);
+		return toString();
 	}
 }
@@ -13,18 +13,23 @@ package ir;
 
 public class IrCommandAllocate extends IrCommand
 {
-	String varName;
-	
-	public IrCommandAllocate(String varName)
+	public IrCommandAllocate(int var)
 	{
-		this.varName = varName;
+		super(IrOpcode.ALLOCATE);
+		this.defVar = var;
 	}
 	
-	public String getVarName() { return varName; }
+	public int getVar() { return defVar; }
 	
 	@Override
 	public String toString()
 	{
-		return String.format("%s := Allocate()", varName);
+		return String.format("var_%d := Allocate()", defVar);
+	}
+
+	@Override
+	public String toString(IrVariables variables)
+	{
+		return String.format("%s_%d := Allocate()", variables.nameOf(defVar), defVar);
 	}
 }
@@ -14,25 +14,22 @@ import temp.*;
 
 public class IrCommandBinopLtIntegers extends IrCommand
 {
-	public Temp t1;
-	public Temp t2;
-	public Temp dst;
-	
 	public IrCommandBinopLtIntegers(Temp dst, Temp t1, Temp t2)
 	{
-		this.dst = dst;
-		this.t1 = t1;
-		this.t2 = t2;
+		super(IrOpcode.LT);
+		this.defTemp = dst;
+		this.useTemp1 = t1;
+		this.useTemp2 = t2;
 	}
 	
-	public Temp getDst() { return dst; }
-	public Temp getT1() { return t1; }
-	public Temp getT2() { return t2; }
+	public Temp getDst() { return defTemp; }
+	public Temp getT1() { return useTemp1; }
+	public Temp getT2() { return useTemp2; }
 	
 	@Override
 	public String toString()
 	{
 		return String.format("Temp_%d := Temp_%d < Temp_%d", 
-			dst.getSerialNumber(), t1.getSerialNumber(), t2.getSerialNumber());
+			defTemp.getSerialNumber(), useTemp1.getSerialNumber(), useTemp2.getSerialNumber());
 	}
 }
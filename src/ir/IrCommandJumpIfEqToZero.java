@@ -14,21 +14,21 @@ import temp.*;
 
 public class IrCommandJumpIfEqToZero extends IrCommand
 {
-	Temp t;
 	String labelName;
 	
 	public IrCommandJumpIfEqToZero(Temp t, String labelName)
 	{
-		this.t          = t;
+		super(IrOpcode.JUMP_IF_EQ_TO_ZERO);
+		this.useTemp1  = t;
 		this.labelName = labelName;
 	}
 	
-	public Temp getTemp() { return t; }
+	public Temp getTemp() { return useTemp1; }
 	public String getLabelName() { return labelName; }
 	
 	@Override
 	public String toString()
 	{
-		return String.format("if Temp_%d == 0 goto %s", t.getSerialNumber(), labelName);
+		return String.format("if Temp_%d == 0 goto %s", useTemp1.getSerialNumber(), labelName);
 	}
 }
@@ -17,6 +17,7 @@ public class IrCommandJumpLabel extends IrCommand
 	
 	public IrCommandJumpLabel(String labelName)
 	{
+		super(IrOpcode.JUMP);
 		this.labelName = labelName;
 	}
 	
@@ -15,12 +15,27 @@ public class IrCommandLabel extends IrCommand
 {
 	String labelName;
 	
+	/***********************************************/
+	/* Name of the function this label enters, or  */
+	/* null for labels inside a function body ...  */
+	/***********************************************/
+	String functionName;
+	
 	public IrCommandLabel(String labelName)
 	{
+		this(labelName, null);
+	}
+	
+	public IrCommandLabel(String labelName, String functionName)
+	{
+		super(IrOpcode.LABEL);
 		this.labelName = labelName;
+		this.functionName = functionName;
 	}
 	
 	public String getLabelName() { return labelName; }
+	public String getFunctionName() { return functionName; }
+	public boolean isFunctionEntry() { return functionName != null; }
 	
 	@Override
 	public String toString()
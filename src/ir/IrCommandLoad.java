@@ -14,21 +14,25 @@ import temp.*;
 
 public class IrCommandLoad extends IrCommand
 {
-	Temp dst;
-	String varName;
-	
-	public IrCommandLoad(Temp dst, String varName)
+	public IrCommandLoad(Temp dst, int var)
 	{
-		this.dst      = dst;
-		this.varName = varName;
+		super(IrOpcode.LOAD);
+		this.defTemp = dst;
+		this.useVar  = var;
 	}
 	
-	public Temp getDst() { return dst; }
-	public String getVarName() { return varName; }
+	public Temp getDst() { return defTemp; }
+	public int getVar() { return useVar; }
 	
 	@Override
 	public String toString()
 	{
-		return String.format("Temp_%d := %s", dst.getSerialNumber(), varName);
+		return String.format("Temp_%d := var_%d", defTemp.getSerialNumber(), useVar);
+	}
+
+	@Override
+	public String toString(IrVariables variables)
+	{
+		return String.format("Temp_%d := %s_%d", defTemp.getSerialNumber(), variables.nameOf(useVar), useVar);
 	}
 }
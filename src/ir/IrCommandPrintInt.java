@@ -14,18 +14,17 @@ import temp.*;
 
 public class IrCommandPrintInt extends IrCommand
 {
-	Temp t;
-	
 	public IrCommandPrintInt(Temp t)
 	{
-		this.t = t;
+		super(IrOpcode.PRINT_INT);
+		this.useTemp1 = t;
 	}
 	
-	public Temp getTemp() { return t; }
+	public Temp getTemp() { return useTemp1; }
 	
 	@Override
 	public String toString()
 	{
-		return String.format("PrintInt(Temp_%d)", t.getSerialNumber());
+		return String.format("PrintInt(Temp_%d)", useTemp1.getSerialNumber());
 	}
 }
@@ -14,20 +14,19 @@ import temp.*;
 
 public class IrCommandReturn extends IrCommand
 {
-	public Temp returnValue;
-	
 	public IrCommandReturn(Temp returnValue)
 	{
-		this.returnValue = returnValue;
+		super(IrOpcode.RETURN);
+		this.useTemp1 = returnValue;
 	}
 	
-	public Temp getReturnValue() { return returnValue; }
+	public Temp getReturnValue() { return useTemp1; }
 	
 	@Override
 	public String toString()
 	{
-		if (returnValue != null) {
-			return String.format("return Temp_%d", returnValue.getSerialNumber());
+		if (useTemp1 != null) {
+			return String.format("return Temp_%d", useTemp1.getSerialNumber());
 		}
 		return "return";
 	}
@@ -14,21 +14,25 @@ import temp.*;
 
 public class IrCommandStore extends IrCommand
 {
-	String varName;
-	Temp src;
-	
-	public IrCommandStore(String varName, Temp src)
+	public IrCommandStore(int var, Temp src)
 	{
-		this.src      = src;
-		this.varName = varName;
+		super(IrOpcode.STORE);
+		this.useTemp1 = src;
+		this.defVar   = var;
 	}
 	
-	public Temp getSrc() { return src; }
-	public String getVarName() { return varName; }
+	public Temp getSrc() { return useTemp1; }
+	public int getVar() { return defVar; }
 	
 	@Override
 	public String toString()
 	{
-		return String.format("%s := Temp_%d", varName, src.getSerialNumber());
+		return String.format("var_%d := Temp_%d", defVar, useTemp1.getSerialNumber());
+	}
+
+	@Override
+	public String toString(IrVariables variables)
+	{
+		return String.format("%s_%d := Temp_%d", variables.nameOf(defVar), defVar, useTemp1.getSerialNumber());
 	}
 }
@@ -0,0 +1,45 @@
+/***********/
+/* PACKAGE */
+/***********/
+package ir;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+
+/*********************************************/
+/* The kind of an IR command, so passes can  */
+/* switch on it instead of instanceof chains */
+/*********************************************/
+public enum IrOpcode
+{
+	CONST_INT,
+	LOAD,
+	STORE,
+	ALLOCATE,
+	ADD,
+	SUB,
+	MUL,
+	DIV,
+	EQ,
+	LT,
+	GT,
+	LABEL,
+	JUMP,
+	JUMP_IF_EQ_TO_ZERO,
+	PRINT_INT,
+	RETURN;
+
+	/***************************************************/
+	/* Does the command end a basic block with a jump  */
+	/* (or leave the function)?                        */
+	/***************************************************/
+	public boolean isBranch()
+	{
+		return this == JUMP || this == JUMP_IF_EQ_TO_ZERO || this == RETURN;
+	}
+}
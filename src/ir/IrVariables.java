@@ -0,0 +1,106 @@
+/***********/
+/* PACKAGE */
+/***********/
+package ir;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+
+public class IrVariables
+{
+	/*********************************************************/
+	/* Side table of the named operands of one compilation's */
+	/* IR. Every declared variable (and parameter) gets its  */
+	/* own dense id during semantic analysis; the IR carries */
+	/* the id, analyses index arrays by it, and reports look */
+	/* the source name up here instead of parsing strings    */
+	/*********************************************************/
+	public static final int NONE = -1;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private String[] names = new String[INITIAL_CAPACITY];
+	private int size = 0;
+
+	/*******************************************************/
+	/* Operands that are not declarations (field and array */
+	/* accesses, allocations, string constants, members    */
+	/* used by their bare name) share one id per key       */
+	/*******************************************************/
+	private final Map<String, Integer> locations = new HashMap<>();
+
+	/**************************************/
+	/* A fresh id for a declared variable */
+	/**************************************/
+	public int declare(String sourceName)
+	{
+		if (size == names.length)
+		{
+			names = Arrays.copyOf(names, names.length * 2);
+		}
+		names[size] = sourceName;
+		return size++;
+	}
+
+	/****************************************************/
+	/* The id of an undeclared location, reported under */
+	/* its key                                          */
+	/****************************************************/
+	public int location(String key)
+	{
+		return location(key, key);
+	}
+
+	/****************************************************/
+	/* The id of an undeclared location, reported under */
+	/* sourceName the first time the key is seen        */
+	/****************************************************/
+	public int location(String key, String sourceName)
+	{
+		Integer id = locations.get(key);
+		if (id == null)
+		{
+			id = declare(sourceName);
+			locations.put(key, id);
+		}
+		return id;
+	}
+
+	/****************************************/
+	/* Source name of an id, for reporting  */
+	/****************************************/
+	public String nameOf(int id)
+	{
+		if (id < 0 || id >= size)
+		{
+			throw new IndexOutOfBoundsException("Variable: " + id + ", Size: " + size);
+		}
+		return names[id];
+	}
+
+	/**********************************************/
+	/* Number of ids handed out; every id is less */
+	/**********************************************/
+	public int size()
+	{
+		return size;
+	}
+
+	/******************************************/
+	/* Forget every id, when the IR is reset  */
+	/******************************************/
+	public void clear()
+	{
+		names = new String[INITIAL_CAPACITY];
+		size = 0;
+		locations.clear();
+	}
+}
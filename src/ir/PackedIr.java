@@ -0,0 +1,244 @@
+/***********/
+/* PACKAGE */
+/***********/
+package ir;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+import temp.*;
+
+public final class PackedIr
+{
+	/***********************************************************/
+	/* Struct-of-arrays encoding of an IR command sequence:    */
+	/* instruction i is column i of parallel arrays holding    */
+	/* its opcode, its def/use operand slots (temp serials and */
+	/* IrVariables ids) and its label, which is interned to a  */
+	/* dense label id. Unused slots are -1. Passes scan ints   */
+	/* instead of chasing IrCommand, Temp and String pointers  */
+	/***********************************************************/
+	public static final int NONE = -1;
+
+	private static final IrOpcode[] OPCODES = IrOpcode.values();
+
+	private final int size;
+	private final byte[] opcodes;
+	private final int[] defTemps;
+	private final int[] defVars;
+	private final int[] useTemps1;
+	private final int[] useTemps2;
+	private final int[] useVars;
+	private final int[] lines;
+
+	/*****************************************************/
+	/* LABEL: its own label id; JUMP, JUMP_IF_EQ_TO_ZERO */
+	/* the id of their target; NONE for everything else  */
+	/*****************************************************/
+	private final int[] labels;
+
+	/***************************************************/
+	/* Label id -> name, and -> function it enters (or */
+	/* null for labels inside a function body)         */
+	/***************************************************/
+	private String[] labelNames;
+	private String[] functionNames;
+	private int labelCount = 0;
+
+	/*****************************************************/
+	/* The commands this was packed from, only kept for  */
+	/* printing (dumps); no pass reads them              */
+	/*****************************************************/
+	private final List<IrCommand> commands;
+
+	private PackedIr(List<IrCommand> commands)
+	{
+		this.commands = commands;
+		this.size = commands.size();
+		this.opcodes   = new byte[size];
+		this.defTemps  = new int[size];
+		this.defVars   = new int[size];
+		this.useTemps1 = new int[size];
+		this.useTemps2 = new int[size];
+		this.useVars   = new int[size];
+		this.lines     = new int[size];
+		this.labels    = new int[size];
+		this.labelNames    = new String[16];
+		this.functionNames = new String[16];
+	}
+
+	/*******************************************/
+	/* Pack a command sequence in one pass ... */
+	/*******************************************/
+	public static PackedIr of(List<IrCommand> commands)
+	{
+		PackedIr packed = new PackedIr(commands);
+		Map<String, Integer> labelIds = new HashMap<>();
+
+		for (int i = 0; i < packed.size; i++)
+		{
+			IrCommand cmd = commands.get(i);
+			packed.opcodes[i]   = (byte) cmd.getOpcode().ordinal();
+			packed.defTemps[i]  = serialOf(cmd.getDefTemp());
+			packed.defVars[i]   = cmd.getDefVar();
+			packed.useTemps1[i] = serialOf(cmd.getUseTemp1());
+			packed.useTemps2[i] = serialOf(cmd.getUseTemp2());
+			packed.useVars[i]   = cmd.getUseVar();
+			packed.lines[i]     = cmd.getLine();
+
+			switch (cmd.getOpcode())
+			{
+			case LABEL:
+				IrCommandLabel label = (IrCommandLabel) cmd;
+				int id = packed.labelId(labelIds, label.getLabelName());
+				packed.functionNames[id] = label.getFunctionName();
+				packed.labels[i] = id;
+				break;
+			case JUMP:
+				packed.labels[i] = packed.labelId(labelIds, ((IrCommandJumpLabel) cmd).getLabelName());
+				break;
+			case JUMP_IF_EQ_TO_ZERO:
+				packed.labels[i] = packed.labelId(labelIds, ((IrCommandJumpIfEqToZero) cmd).getLabelName());
+				break;
+			default:
+				packed.labels[i] = NONE;
+				break;
+			}
+		}
+		return packed;
+	}
+
+	private static int serialOf(Temp t)
+	{
+		return (t == null) ? NONE : t.getSerialNumber();
+	}
+
+	private int labelId(Map<String, Integer> labelIds, String name)
+	{
+		Integer id = labelIds.get(name);
+		if (id != null)
+		{
+			return id;
+		}
+		if (labelCount == labelNames.length)
+		{
+			labelNames    = Arrays.copyOf(labelNames, labelCount * 2);
+			functionNames = Arrays.copyOf(functionNames, labelCount * 2);
+		}
+		labelNames[labelCount] = name;
+		labelIds.put(name, labelCount);
+		return labelCount++;
+	}
+
+	/********************************/
+	/* Number of instructions       */
+	/********************************/
+	public int size() { return size; }
+
+	/*********************************************/
+	/* Slots of instruction i (NONE when unused) */
+	/*********************************************/
+	public IrOpcode opcode(int i) { return OPCODES[opcodes[i]]; }
+	public int defTemp(int i)     { return defTemps[i]; }
+	public int defVar(int i)      { return defVars[i]; }
+	public int useTemp1(int i)    { return useTemps1[i]; }
+	public int useTemp2(int i)    { return useTemps2[i]; }
+	public int useVar(int i)      { return useVars[i]; }
+	public int label(int i)       { return labels[i]; }
+	public int line(int i)        { return lines[i]; }
+
+	/**************************************************/
+	/* Is instruction i the entry label of a function */
+	/**************************************************/
+	public boolean isFunctionEntry(int i)
+	{
+		return opcodes[i] == IrOpcode.LABEL.ordinal() && functionNames[labels[i]] != null;
+	}
+
+	/********************************/
+	/* Label table                  */
+	/********************************/
+	public int labelCount()            { return labelCount; }
+	public String labelName(int id)    { return labelNames[id]; }
+	public String functionName(int id) { return functionNames[id]; }
+
+	/******************************************/
+	/* The commands [start, end), for printing */
+	/******************************************/
+	public List<IrCommand> commands(int start, int end)
+	{
+		return commands.subList(start, end);
+	}
+
+	/*************************************************/
+	/* A cursor over the instructions [start, end)  */
+	/*************************************************/
+	public Cursor cursor(int start, int end)
+	{
+		if (start < 0 || end > size || start > end)
+		{
+			throw new IndexOutOfBoundsException("Range: [" + start + ", " + end + "), Size: " + size);
+		}
+		return new Cursor(this, start, end);
+	}
+
+	public Cursor cursor()
+	{
+		return cursor(0, size);
+	}
+
+	/**********************************************************/
+	/* Read-only forward cursor. Positioned before the first  */
+	/* instruction; next() advances and the accessors read   */
+	/* the slots of the current one:                          */
+	/*                                                        */
+	/*   for (PackedIr.Cursor c = ir.cursor(); c.next();) ... */
+	/**********************************************************/
+	public static final class Cursor
+	{
+		private final PackedIr ir;
+		private final int start;
+		private final int end;
+		private int i;
+
+		private Cursor(PackedIr ir, int start, int end)
+		{
+			this.ir = ir;
+			this.start = start;
+			this.end = end;
+			this.i = start - 1;
+		}
+
+		public boolean next()
+		{
+			return ++i < end;
+		}
+
+		public void reset()
+		{
+			i = start - 1;
+		}
+
+		/* Absolute index of the current instruction, and its offset in the range */
+		public int index()  { return i; }
+		public int offset() { return i - start; }
+
+		public IrOpcode opcode()         { return ir.opcode(i); }
+		public int defTemp()             { return ir.defTemps[i]; }
+		public int defVar()              { return ir.defVars[i]; }
+		public int useTemp1()            { return ir.useTemps1[i]; }
+		public int useTemp2()            { return ir.useTemps2[i]; }
+		public int useVar()              { return ir.useVars[i]; }
+		public int label()               { return ir.labels[i]; }
+		public int line()                { return ir.lines[i]; }
+		public boolean isFunctionEntry() { return ir.isFunctionEntry(i); }
+	}
+}
@@ -0,0 +1,34 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation - Bytes allocated so far by the current thread, from the
+ * HotSpot ThreadMXBean; -1 where the JVM does not support it.
+ */
+public final class Allocation {
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private Allocation() {
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                    return threads;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // fall through: allocation is simply not reported
+        }
+        return null;
+    }
+
+    public static long currentThreadBytes() {
+        return (THREADS != null) ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
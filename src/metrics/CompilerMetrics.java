@@ -0,0 +1,183 @@
+package metrics;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompilerMetrics - Per-phase wall time, allocation and counts of one
+ * compilation.
+ *
+ * Phases are measured on the compiling thread between begin() and
+ * end(); work done elsewhere (the lexer inside the parser, analysis
+ * on pool threads) is added with record(). Counters are free-form
+ * named totals; function() adds the same kind of counters for one
+ * function (CFG). Every phase is also committed as a JFR PhaseEvent.
+ * A disabled instance ignores every call, so the normal pipeline pays
+ * nothing beyond a branch.
+ */
+public class CompilerMetrics {
+    /** One measured phase. */
+    public static final class Phase {
+        public final String name;
+        public final long wallNanos;
+        public final long allocatedBytes;
+        public final long count;
+
+        Phase(String name, long wallNanos, long allocatedBytes, long count) {
+            this.name = name;
+            this.wallNanos = wallNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.count = count;
+        }
+    }
+
+    private final String input;
+    private final boolean enabled;
+    private final List<Phase> phases = new ArrayList<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private final Map<String, Map<String, Long>> functions = new LinkedHashMap<>();
+
+    private String current = null;
+    private long startNanos;
+    private long startBytes;
+
+    public CompilerMetrics(String input, boolean enabled) {
+        this.input = input;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts measuring a phase on the current thread. */
+    public void begin(String phase) {
+        if (!enabled) return;
+        current = phase;
+        startBytes = Allocation.currentThreadBytes();
+        startNanos = System.nanoTime();
+    }
+
+    /** Ends the phase started by begin(); count is what it processed. */
+    public void end(long count) {
+        end(count, 0, 0);
+    }
+
+    /**
+     * Ends the phase started by begin(), adding the given corrections to
+     * the measured time and allocation: negative for nested work recorded
+     * as its own phase, positive for work done on other threads.
+     */
+    public void end(long count, long nanosAdjustment, long bytesAdjustment) {
+        if (!enabled || current == null) return;
+        long nanos = System.nanoTime() - startNanos + nanosAdjustment;
+        long bytes = (startBytes < 0) ? -1 : Allocation.currentThreadBytes() - startBytes + bytesAdjustment;
+        record(current, nanos, bytes, count);
+        current = null;
+    }
+
+    /** Adds a phase measured by the caller. */
+    public void record(String phase, long wallNanos, long allocatedBytes, long count) {
+        if (!enabled) return;
+        phases.add(new Phase(phase, wallNanos, allocatedBytes, count));
+
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.input = input;
+            event.phase = phase;
+            event.wallTime = wallNanos;
+            event.allocated = allocatedBytes;
+            event.count = count;
+            event.commit();
+        }
+    }
+
+    /** Sets a named counter. */
+    public void count(String name, long value) {
+        if (!enabled) return;
+        counters.put(name, value);
+    }
+
+    /** Sets the named counters of one function, in the given order. */
+    public void function(String name, Map<String, Long> values) {
+        if (!enabled) return;
+        functions.put(name, values);
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, Map<String, Long>> getFunctions() {
+        return functions;
+    }
+
+    /**
+     * Writes the report as one JSON object on one line:
+     * {"input":...,"phases":[{"phase","wallNanos","allocatedBytes","count"}...],"counters":{...},
+     *  "functions":{"name":{...}...}}
+     */
+    public void writeJson(PrintWriter out) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"input\":");
+        quote(sb, input);
+        sb.append(",\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase p = phases.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"phase\":");
+            quote(sb, p.name);
+            sb.append(",\"wallNanos\":").append(p.wallNanos);
+            sb.append(",\"allocatedBytes\":").append(p.allocatedBytes);
+            sb.append(",\"count\":").append(p.count).append('}');
+        }
+        sb.append("],\"counters\":");
+        counters(sb, counters);
+        sb.append(",\"functions\":{");
+        boolean first = true;
+        for (Map.Entry<String, Map<String, Long>> function : functions.entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            quote(sb, function.getKey());
+            sb.append(':');
+            counters(sb, function.getValue());
+        }
+        sb.append("}}\n");
+        out.print(sb);
+        out.flush();
+    }
+
+    private static void counters(StringBuilder sb, Map<String, Long> values) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> counter : values.entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            quote(sb, counter.getKey());
+            sb.append(':').append(counter.getValue());
+        }
+        sb.append('}');
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,38 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * PhaseEvent - JFR event committed for every measured compiler phase, so
+ * a flight recording (-XX:StartFlightRecording) shows the pipeline
+ * next to GC and JIT activity.
+ */
+@Name("analyzer.Phase")
+@Label("Compiler Phase")
+@Category("Analyzer")
+@Description("One phase of compiling one input file")
+public class PhaseEvent extends Event {
+    @Label("Input")
+    public String input;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Wall Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long wallTime;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+
+    @Label("Count")
+    @Description("Items the phase produced or processed (tokens, nodes, commands, blocks, visits)")
+    public long count;
+}
@@ -0,0 +1,38 @@
+package report;
+
+import dfa.Finding;
+import java.io.PrintWriter;
+
+/**
+ * CsvFindingWriter - A header row, then one row per finding
+ * (RFC 4180 quoting for names that need it).
+ */
+public class CsvFindingWriter extends FindingWriter {
+    public CsvFindingWriter(PrintWriter out) {
+        super(out);
+    }
+
+    @Override
+    public void begin() {
+        out.print("variable,function,line,block\n");
+    }
+
+    @Override
+    protected void write(Finding finding) {
+        out.print(field(finding.variable));
+        out.print(',');
+        out.print(field(finding.function));
+        out.print(',');
+        out.print(finding.line);
+        out.print(',');
+        out.print(finding.blockId);
+        out.print('\n');
+    }
+
+    private static String field(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
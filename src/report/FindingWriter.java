@@ -0,0 +1,52 @@
+package report;
+
+import dfa.Finding;
+import dfa.FindingListener;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * FindingWriter - Streams analysis findings as structured records.
+ *
+ * Installed as the ProgramAnalyzer's FindingListener, it writes every
+ * finding of a function as soon as the analyzer hands that function
+ * over and flushes, so a consumer can process the output while later
+ * functions are still being analyzed.
+ */
+public abstract class FindingWriter implements FindingListener {
+    protected final PrintWriter out;
+
+    protected FindingWriter(PrintWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates the writer for a --format name ("json" or "csv").
+     */
+    public static FindingWriter forFormat(String format, PrintWriter out) {
+        switch (format) {
+            case "json": return new JsonFindingWriter(out);
+            case "csv":  return new CsvFindingWriter(out);
+            default:     throw new IllegalArgumentException("unknown output format '" + format + "'");
+        }
+    }
+
+    /** Writes whatever precedes the first record. */
+    public void begin() {
+    }
+
+    @Override
+    public void analyzed(String function, List<Finding> findings) {
+        for (Finding finding : findings) {
+            write(finding);
+        }
+        out.flush();
+    }
+
+    /** Writes whatever follows the last record. */
+    public void end() {
+        out.flush();
+    }
+
+    protected abstract void write(Finding finding);
+}
@@ -0,0 +1,43 @@
+package report;
+
+import dfa.Finding;
+import java.io.PrintWriter;
+
+/**
+ * JsonFindingWriter - One JSON object per finding per line (JSON Lines),
+ * e.g. {"variable":"x","function":"main","line":7,"block":2}.
+ */
+public class JsonFindingWriter extends FindingWriter {
+    public JsonFindingWriter(PrintWriter out) {
+        super(out);
+    }
+
+    @Override
+    protected void write(Finding finding) {
+        out.print("{\"variable\":");
+        quote(finding.variable);
+        out.print(",\"function\":");
+        quote(finding.function);
+        out.print(",\"line\":");
+        out.print(finding.line);
+        out.print(",\"block\":");
+        out.print(finding.blockId);
+        out.print("}\n");
+    }
+
+    private void quote(String s) {
+        out.print('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.print('\\');
+                out.print(c);
+            } else if (c < 0x20) {
+                out.printf("\\u%04x", (int) c);
+            } else {
+                out.print(c);
+            }
+        }
+        out.print('"');
+    }
+}
@@ -0,0 +1,161 @@
+/***********/
+/* PACKAGE */
+/***********/
+package source;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+
+/**
+ * MappedAsciiReader - Reader over a memory-mapped source file
+ *
+ * While the bytes are ASCII each byte is one character, so read()
+ * widens bytes straight from the mapping into the caller's buffer: no
+ * intermediate byte[] copy and no CharsetDecoder. The check happens as
+ * the bytes are widened, so nothing is scanned before lexing starts. At
+ * the first non-ASCII byte the rest of the file goes through a decoder
+ * for the default charset, as FileReader would have read it. The
+ * mapping is released when the buffer is garbage collected; close()
+ * only marks the end of the stream.
+ */
+class MappedAsciiReader extends Reader
+{
+	private final MappedByteBuffer bytes;
+	private final int limit;
+	private int position = 0;
+
+	// Decoding from the first non-ASCII byte on (decoder is null until
+	// then): the undecoded bytes, the low half of a surrogate pair that
+	// did not fit into the caller's buffer (or -1), and whether the
+	// decoder has been flushed
+	private CharsetDecoder decoder = null;
+	private ByteBuffer rest = null;
+	private int pending = -1;
+	private boolean ended = false;
+
+	MappedAsciiReader(MappedByteBuffer bytes)
+	{
+		this.bytes = bytes;
+		this.limit = bytes.limit();
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length)
+	{
+		if (length == 0)
+		{
+			return 0;
+		}
+		if (decoder != null)
+		{
+			return decode(buffer, offset, length);
+		}
+		if (position >= limit)
+		{
+			return -1;
+		}
+		int n = Math.min(length, limit - position);
+		for (int i = 0; i < n; i++)
+		{
+			byte b = bytes.get(position + i);
+			if (b < 0)
+			{
+				if (i > 0)
+				{
+					// Hand out the ASCII prefix; the next call decodes
+					position += i;
+					return i;
+				}
+				startDecoding();
+				return decode(buffer, offset, length);
+			}
+			buffer[offset + i] = (char) b;
+		}
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int read()
+	{
+		if (decoder == null && position < limit && bytes.get(position) >= 0)
+		{
+			return bytes.get(position++);
+		}
+		char[] c = new char[1];
+		return (read(c, 0, 1) == 1) ? c[0] : -1;
+	}
+
+	private void startDecoding()
+	{
+		decoder = Charset.defaultCharset().newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		rest = bytes.duplicate();
+		rest.position(position);
+	}
+
+	private int decode(char[] buffer, int offset, int length)
+	{
+		if (pending >= 0)
+		{
+			buffer[offset] = (char) pending;
+			pending = -1;
+			return 1;
+		}
+		if (ended)
+		{
+			return -1;
+		}
+		CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+		decoder.decode(rest, out, true);
+		if (out.position() == offset && rest.hasRemaining())
+		{
+			// A surrogate pair does not fit: return its high half now
+			CharBuffer pair = CharBuffer.allocate(2);
+			decoder.decode(rest, pair, true);
+			pair.flip();
+			buffer[offset] = pair.get();
+			pending = pair.hasRemaining() ? pair.get() : -1;
+			position = rest.position();
+			return 1;
+		}
+		if (!rest.hasRemaining())
+		{
+			decoder.flush(out);
+			ended = true;
+		}
+		int n = out.position() - offset;
+		position = rest.position();
+		return (n == 0) ? -1 : n;
+	}
+
+	@Override
+	public boolean ready()
+	{
+		return true;
+	}
+
+	@Override
+	public void close()
+	{
+		position = limit;
+		if (decoder != null)
+		{
+			pending = -1;
+			ended = true;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/***********/
+/* PACKAGE */
+/***********/
+package source;
+
+/*******************/
+/* GENERAL IMPORTS */
+/*******************/
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*******************/
+/* PROJECT IMPORTS */
+/*******************/
+
+public class SourceReader
+{
+	/****************************************************/
+	/* Open a source file for the lexer. Files are      */
+	/* memory-mapped and their ASCII bytes (every L     */
+	/* program the grammar accepts) widened one by one  */
+	/* into the lexer's buffer, skipping the charset    */
+	/* decoder; bytes from the first non-ASCII one on   */
+	/* are decoded. Files too large to map go through a */
+	/* buffered Reader                                  */
+	/****************************************************/
+	public static Reader open(String fileName) throws IOException
+	{
+		MappedByteBuffer mapped = map(fileName);
+		if (mapped != null)
+		{
+			return new MappedAsciiReader(mapped);
+		}
+		return new BufferedReader(new FileReader(fileName));
+	}
+
+	/*****************************************/
+	/* Whether open() chose the mapped path  */
+	/*****************************************/
+	public static boolean isMapped(Reader reader)
+	{
+		return reader instanceof MappedAsciiReader;
+	}
+
+	/*************************************************/
+	/* Map the file, or null if it is too large for  */
+	/* a single mapping                              */
+	/*************************************************/
+	static MappedByteBuffer map(String fileName) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				return null;
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+}
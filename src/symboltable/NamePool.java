@@ -0,0 +1,109 @@
+package symboltable;
+
+public class NamePool
+{
+	/************************************************************/
+	/* Compilation-wide intern pool for identifiers and string  */
+	/* literals. The lexer hands it the token's characters      */
+	/* straight from its buffer, so a name seen before costs no */
+	/* allocation and every occurrence of a name is the same    */
+	/* String: later map lookups hit the == fast path and reuse */
+	/* the String's cached hash. Open addressing with linear    */
+	/* probing, doubling when half full                         */
+	/************************************************************/
+	private static final int INITIAL_CAPACITY = 256;
+
+	private String[] names = new String[INITIAL_CAPACITY];
+	private int[] hashes = new int[INITIAL_CAPACITY];
+	private int count = 0;
+
+	/**************************************************/
+	/* Spread String.hashCode over the table's bits   */
+	/**************************************************/
+	private static int index(int hash, int mask)
+	{
+		int h = hash * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/*****************************************************/
+	/* Canonical String for buf[offset .. offset+length) */
+	/*****************************************************/
+	public String intern(char[] buf, int offset, int length)
+	{
+		int hash = 0;
+		for (int i = 0; i < length; i++)
+			hash = 31 * hash + buf[offset + i];
+
+		int mask = names.length - 1;
+		int i = index(hash, mask);
+		for (String s; (s = names[i]) != null; i = (i + 1) & mask)
+		{
+			if (hashes[i] == hash && matches(s, buf, offset, length))
+				return s;
+		}
+		return add(i, new String(buf, offset, length), hash);
+	}
+
+	/*********************************/
+	/* Canonical instance of a name  */
+	/*********************************/
+	public String intern(String name)
+	{
+		int hash = name.hashCode();
+		int mask = names.length - 1;
+		int i = index(hash, mask);
+		for (String s; (s = names[i]) != null; i = (i + 1) & mask)
+		{
+			if (s == name || (hashes[i] == hash && s.equals(name)))
+				return s;
+		}
+		return add(i, name, hash);
+	}
+
+	/*********************************/
+	/* Number of distinct names seen */
+	/*********************************/
+	public int size()
+	{
+		return count;
+	}
+
+	private static boolean matches(String s, char[] buf, int offset, int length)
+	{
+		if (s.length() != length)
+			return false;
+		for (int i = 0; i < length; i++)
+			if (s.charAt(i) != buf[offset + i])
+				return false;
+		return true;
+	}
+
+	private String add(int i, String name, int hash)
+	{
+		names[i] = name;
+		hashes[i] = hash;
+		if (2 * ++count > names.length)
+			resize();
+		return name;
+	}
+
+	private void resize()
+	{
+		String[] oldNames = names;
+		int[] oldHashes = hashes;
+		names = new String[oldNames.length * 2];
+		hashes = new int[oldNames.length * 2];
+		int mask = names.length - 1;
+		for (int j = 0; j < oldNames.length; j++)
+		{
+			if (oldNames[j] == null)
+				continue;
+			int i = index(oldHashes[j], mask);
+			while (names[i] != null)
+				i = (i + 1) & mask;
+			names[i] = oldNames[j];
+			hashes[i] = oldHashes[j];
+		}
+	}
+}
@@ -1,100 +1,210 @@
 package symboltable;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.PrintWriter;
+import java.util.Arrays;
 import types.*;
 
 public class SymbolTable
 {
-	private int hashArraySize = 13;
-	private SymbolTableEntry[] table = new SymbolTableEntry[hashArraySize];
+	/************************************************************/
+	/* Every distinct name gets one slot in an open-addressing  */
+	/* (linear probing) table that doubles when half full. The  */
+	/* slot holds the name, interned in the compilation's       */
+	/* NamePool like the lexer's identifiers, and the stack of  */
+	/* its live bindings, innermost first, plus its global      */
+	/* binding, so a lookup is a single probe whatever the      */
+	/* number of symbols or the nesting depth                   */
+	/************************************************************/
+	static final class NameSlot
+	{
+		final String name;
+		final int hash;
+		SymbolTableEntry innermost = null;
+		SymbolTableEntry global = null;
+
+		NameSlot(String name, int hash)
+		{
+			this.name = name;
+			this.hash = hash;
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final NamePool names;
+	private NameSlot[] slots = new NameSlot[INITIAL_CAPACITY];
+	private int slotCount = 0;
 	private SymbolTableEntry top;
 	private int topIndex = 0;
+
+	/***************************************************/
+	/* Scope frames: the entry-stack height at which   */
+	/* each open scope began, indexed by depth - 1.    */
+	/* Closing a scope pops exactly the entries above  */
+	/* its height, no sentinel entries or name checks  */
+	/***************************************************/
+	private int[] frameHeights = new int[8];
 	
 	private int curScopeDepth = 0;
 	private TypeClass curClass = null;
 	private TypeFunction currFunc = null;
 	
-	private int hash(String s)
+	/*****************************************************/
+	/* Identifiers like g1, g2, ... have consecutive     */
+	/* String hashes; scramble them so linear probing    */
+	/* does not build one long cluster                   */
+	/*****************************************************/
+	private static int hash(String s)
+	{
+		int h = s.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/*********************************************/
+	/* Slot of a name, or null if never entered  */
+	/*********************************************/
+	private NameSlot lookup(String name)
+	{
+		int h = hash(name);
+		int mask = slots.length - 1;
+		for (int i = h & mask; slots[i] != null; i = (i + 1) & mask)
+		{
+			NameSlot slot = slots[i];
+			if (slot.name == name || (slot.hash == h && slot.name.equals(name)))
+				return slot;
+		}
+		return null;
+	}
+
+	/*********************************************/
+	/* Slot of a name, created on first use      */
+	/*********************************************/
+	private NameSlot slotFor(String name)
+	{
+		NameSlot slot = lookup(name);
+		if (slot != null)
+			return slot;
+
+		if (2 * (slotCount + 1) > slots.length)
+			resize();
+		name = names.intern(name);
+		slot = new NameSlot(name, hash(name));
+		insert(slots, slot);
+		slotCount++;
+		return slot;
+	}
+
+	private static void insert(NameSlot[] into, NameSlot slot)
+	{
+		int mask = into.length - 1;
+		int i = slot.hash & mask;
+		while (into[i] != null)
+			i = (i + 1) & mask;
+		into[i] = slot;
+	}
+
+	private void resize()
 	{
-		return Math.abs(s.hashCode()) % hashArraySize;
+		NameSlot[] bigger = new NameSlot[slots.length * 2];
+		for (NameSlot slot : slots)
+			if (slot != null)
+				insert(bigger, slot);
+		slots = bigger;
 	}
 
 	public void enter(String name, Type t)
 	{
-		int hashValue = hash(name);
-		SymbolTableEntry next = table[hashValue];
-		SymbolTableEntry e = new SymbolTableEntry(name, t, hashValue, next, curScopeDepth, top, topIndex++);
+		NameSlot slot = slotFor(name);
+		SymbolTableEntry e = new SymbolTableEntry(slot.name, t, slot, slot.innermost, curScopeDepth, top, topIndex++);
+		slot.innermost = e;
+		if (curScopeDepth == 0)
+			slot.global = e;
 		top = e;
-		table[hashValue] = e;
 		// printMe();
 	}
 
+	/*************************************************/
+	/* Remove the most recent entry (scope exit).    */
+	/* Only entries of a nested scope are popped, so */
+	/* a global binding never goes away              */
+	/*************************************************/
+	private void pop()
+	{
+		SymbolTableEntry e = top;
+		e.slot.innermost = e.shadowed;
+		topIndex--;
+		top = e.prevtop;
+	}
+
 	public Type find(String name)
 	{
-		// Step 1: Search local scopes (not global)
-		for (SymbolTableEntry e = table[hash(name)]; e != null; e = e.next)
-			if (name.equals(e.name) && e.scopeDepth > 0)
-				return e.type;
+		NameSlot slot = lookup(name);
+
+		// Step 1: Innermost local binding (not global)
+		if (slot != null && slot.innermost != null && slot.innermost.scopeDepth > 0)
+			return slot.innermost.type;
 		
 		// Step 2: If inside a class, search class hierarchy
 		if (curClass != null) {
-			TypeClassVarDec member = curClass.findMemberInHierarchy(name);
+			TypeClassVarDec member = curClass.findMember(name);
 			if (member != null)
 				return member.t;
 		}
 		
-		// Step 3: Search global scope
-		for (SymbolTableEntry e = table[hash(name)]; e != null; e = e.next)
-			if (name.equals(e.name) && e.scopeDepth == 0)
-				return e.type;
+		// Step 3: Global binding
+		if (slot != null && slot.global != null)
+			return slot.global.type;
 		
 		return null;
 	}
 
 	public SymbolTableEntry findEntry(String name)
 	{
-		// Step 1: Search local scopes (not global)
-		for (SymbolTableEntry e = table[hash(name)]; e != null; e = e.next)
-			if (name.equals(e.name) && e.scopeDepth > 0)
-				return e;
-		
-		// Step 2: Search global scope
-		for (SymbolTableEntry e = table[hash(name)]; e != null; e = e.next)
-			if (name.equals(e.name) && e.scopeDepth == 0)
-				return e;
+		NameSlot slot = lookup(name);
+		if (slot == null)
+			return null;
+
+		// Step 1: Innermost local binding (not global)
+		if (slot.innermost != null && slot.innermost.scopeDepth > 0)
+			return slot.innermost;
 		
-		return null;
+		// Step 2: Global binding
+		return slot.global;
 	}
 
 	public void beginScope()
 	{
-		enter("SCOPE-BOUNDARY", TypeForScopeBoundaries.getInstance());
-		curScopeDepth++;
+		if (curScopeDepth == frameHeights.length)
+			frameHeights = Arrays.copyOf(frameHeights, frameHeights.length * 2);
+		frameHeights[curScopeDepth++] = topIndex;
 		// printMe();
 	}
 
 	public void endScope()
 	{
-		while (!top.name.equals("SCOPE-BOUNDARY")) {
-			table[top.index] = top.next;
-			topIndex--;
-			top = top.prevtop;
+		int height = frameHeights[--curScopeDepth];
+		while (topIndex > height) {
+			pop();
 		}
-		table[top.index] = top.next;
-		topIndex--;
-		top = top.prevtop;
-		curScopeDepth--;
 		// printMe();
 	}
 
 	public boolean isGlobalScope() { return curScopeDepth == 0; }
 
+	/*****************************************************/
+	/* A name is declared in the current scope iff its   */
+	/* innermost binding was entered at the current      */
+	/* depth: bindings of closed sibling scopes are gone */
+	/* and older ones sit below it on the name's stack   */
+	/*****************************************************/
 	public Type findInCurrentScope(String name)
 	{
-		for (SymbolTableEntry e = top; e != null; e = e.prevtop) {
-			if (e.name.equals("SCOPE-BOUNDARY")) return null;
-			if (e.name.equals(name)) return e.type;
-		}
+		NameSlot slot = lookup(name);
+		if (slot != null && slot.innermost != null && slot.innermost.scopeDepth == curScopeDepth)
+			return slot.innermost.type;
 		return null;
 	}
 
@@ -126,54 +236,51 @@ public class SymbolTable
 	
 	public boolean insideFunction() { return currFunc != null; }
 
-	public static int n=0;
+	private int n=0;
 	
-	public void printMe()
+	/********************************************************/
+	/* Dump the table in graphviz dot format into dumpDir   */
+	/* (diagnostics mode only; never called on normal runs) */
+	/********************************************************/
+	public void printMe(File dumpDir)
 	{
-		String dirname="./output/";
 		String filename=String.format("SYMBOL_TABLE_%d_IN_GRAPHVIZ_DOT_FORMAT.txt",n++);
 		try {
-			PrintWriter fileWriter = new PrintWriter(dirname+filename);
-			if (fileWriter != null) {
-				fileWriter.print("digraph structs {\nrankdir = LR\nnode [shape=record];\n");
-				fileWriter.print("hashTable [label=\"");
-				for (int i=0;i<hashArraySize-1;i++) fileWriter.format("<f%d>\n%d\n|",i,i);
-				fileWriter.format("<f%d>\n%d\n\"];\n",hashArraySize-1,hashArraySize-1);
-				for (int i=0;i<hashArraySize;i++) {
-					if (table[i] != null)
-						fileWriter.format("hashTable:f%d -> node_%d_0:f0;\n",i,i);
-					int j=0;
-					for (SymbolTableEntry it = table[i]; it!=null; it=it.next) {
-						fileWriter.format("node_%d_%d [label=\"<f0>%s|<f1>%s|<f2>prevtop=%d|<f3>next\"];\n",
-							i,j,it.name,it.type.name,it.prevtopIndex);
-						if (it.next != null) {
-							fileWriter.format("node_%d_%d -> node_%d_%d [style=invis,weight=10];\n",i,j,i,j+1);
-							fileWriter.format("node_%d_%d:f3 -> node_%d_%d:f0;\n",i,j,i,j+1);
-						}
-						j++;
-					}
+			PrintWriter fileWriter = new PrintWriter(new BufferedWriter(new FileWriter(new File(dumpDir, filename))));
+			fileWriter.print("digraph structs {\nrankdir = LR\nnode [shape=record];\n");
+			for (int i=0;i<slots.length;i++) {
+				if (slots[i] == null || slots[i].innermost == null)
+					continue;
+				fileWriter.format("slot_%d [label=\"<f0>%d|<f1>%s\"];\n",i,i,slots[i].name);
+				fileWriter.format("slot_%d:f1 -> node_%d_0:f0;\n",i,i);
+				int j=0;
+				for (SymbolTableEntry it = slots[i].innermost; it!=null; it=it.shadowed) {
+					fileWriter.format("node_%d_%d [label=\"<f0>%s|<f1>%s|<f2>prevtop=%d|<f3>depth=%d\"];\n",
+						i,j,it.name,it.type.name,it.prevtopIndex,it.scopeDepth);
+					if (it.shadowed != null)
+						fileWriter.format("node_%d_%d:f3 -> node_%d_%d:f0;\n",i,j,i,j+1);
+					j++;
 				}
-				fileWriter.print("}\n");
-				fileWriter.close();
 			}
+			fileWriter.print("}\n");
+			fileWriter.close();
 		} catch (Exception e) { e.printStackTrace(); }
 	}
 	
-	private static SymbolTable instance = null;
-	protected SymbolTable() {}
-
-	public static SymbolTable getInstance()
-	{
-		if (instance == null) {
-			instance = new SymbolTable();
-			instance.enter("int", TypeInt.getInstance());
-			instance.enter("string", TypeString.getInstance());
-			instance.enter("void", TypeVoid.getInstance());
-			instance.enter("PrintInt", new TypeFunction(TypeVoid.getInstance(), "PrintInt",
-				new TypeList(TypeInt.getInstance(), null)));
-			instance.enter("PrintString", new TypeFunction(TypeVoid.getInstance(), "PrintString",
-				new TypeList(TypeString.getInstance(), null)));
-		}
-		return instance;
+	/*****************************************/
+	/* One table per compilation, owned by   */
+	/* its CompilationContext, starting with */
+	/* the builtin types and functions       */
+	/*****************************************/
+	public SymbolTable(NamePool names)
+	{
+		this.names = names;
+		enter("int", TypeInt.getInstance());
+		enter("string", TypeString.getInstance());
+		enter("void", TypeVoid.getInstance());
+		enter("PrintInt", new TypeFunction(TypeVoid.getInstance(), "PrintInt",
+			new TypeList(TypeInt.getInstance(), null)));
+		enter("PrintString", new TypeFunction(TypeVoid.getInstance(), "PrintString",
+			new TypeList(TypeString.getInstance(), null)));
 	}
 }
@@ -13,11 +13,6 @@ import types.*;
 /**********************/
 public class SymbolTableEntry
 {
-	/*********/
-	/* index */
-	/*********/
-	int index;
-	
 	/********/
 	/* name */
 	/********/
@@ -28,11 +23,17 @@ public class SymbolTableEntry
 	/******************/
 	public Type type;
 
-	/*********************************************/
-	/* prevtop and next symbol table entries ... */
-	/*********************************************/
+	/*******************************************************/
+	/* prevtop: the entry entered just before this one;    */
+	/* shadowed: the older binding of the same name ...    */
+	/*******************************************************/
 	public SymbolTableEntry prevtop;
-	public SymbolTableEntry next;
+	public SymbolTableEntry shadowed;
+
+	/*****************************************/
+	/* The name's slot in the symbol table   */
+	/*****************************************/
+	final SymbolTable.NameSlot slot;
 
 	/****************************************************/
 	/* The prevtopIndex is just for debug purposes ... */
@@ -43,6 +44,12 @@ public class SymbolTableEntry
 	/* Scope depth - at which nesting level declared    */
 	/****************************************************/
 	public int scopeDepth;
+
+	/****************************************************/
+	/* IR variable id of a declared variable or         */
+	/* parameter (ir.IrVariables); -1 for other names   */
+	/****************************************************/
+	public int symbolId = -1;
 	
 	/******************/
 	/* CONSTRUCTOR(S) */
@@ -50,16 +57,16 @@ public class SymbolTableEntry
 	public SymbolTableEntry(
 		String name,
 		Type type,
-		int index,
-		SymbolTableEntry next,
+		SymbolTable.NameSlot slot,
+		SymbolTableEntry shadowed,
 		int scopeDepth,
 		SymbolTableEntry prevtop,
 		int prevtopIndex)
 	{
-		this.index = index;
 		this.name = name;
 		this.type = type;
-		this.next = next;
+		this.slot = slot;
+		this.shadowed = shadowed;
 		this.scopeDepth = scopeDepth;
 		this.prevtop = prevtop;
 		this.prevtopIndex = prevtopIndex;
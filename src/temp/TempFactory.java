@@ -20,28 +20,9 @@ public class TempFactory
 		return new Temp(counter++);
 	}
 	
-	/**************************************/
-	/* USUAL SINGLETON IMPLEMENTATION ... */
-	/**************************************/
-	private static TempFactory instance = null;
-
-	/*****************************/
-	/* PREVENT INSTANTIATION ... */
-	/*****************************/
-	protected TempFactory() {}
-
-	/******************************/
-	/* GET SINGLETON INSTANCE ... */
-	/******************************/
-	public static TempFactory getInstance()
-	{
-		if (instance == null)
-		{
-			/*******************************/
-			/* [0] The instance itself ... */
-			/*******************************/
-			instance = new TempFactory();
-		}
-		return instance;
-	}
+	/*****************************************/
+	/* One instance per compilation, owned   */
+	/* by its CompilationContext             */
+	/*****************************************/
+	public TempFactory() {}
 }
@@ -1,15 +1,72 @@
 package types;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class TypeClass extends Type
 {
     public TypeClass father;
-    public TypeClassVarDecList dataMembers;
+
+    /*==================================================================*/
+    /*                    ANCESTOR DISPLAY                              */
+    /*==================================================================*/
+    /* depth is the distance from the root of the hierarchy, and        */
+    /* ancestors[d] is this class's ancestor at depth d (the class      */
+    /* itself at its own depth). A class is a subclass of C iff it is   */
+    /* at least as deep as C and has C at C's depth, which is one array */
+    /* read. Built once when the class is declared, from the father's   */
+    /* display, since a father is always declared before its children.  */
+    /*==================================================================*/
+    private final int depth;
+    private final TypeClass[] ancestors;
+
+    /*==================================================================*/
+    /*                    FLATTENED MEMBER TABLES                       */
+    /*==================================================================*/
+    /* Every member visible in this class, inherited ones included, is  */
+    /* resolved through one hash table. Fields are laid out parent      */
+    /* first, with word 0 of an object holding the vtable pointer;      */
+    /* methods keep their parent's vtable slot when overridden. The     */
+    /* tables grow while the class body is analyzed and are frozen by   */
+    /* seal() at the end of the class declaration.                      */
+    /*==================================================================*/
+    private Map<String, TypeClassVarDec> members = new HashMap<>();
+    private List<TypeClassVarDec> fields = new ArrayList<>();
+    private List<TypeClassVarDec> vtable = new ArrayList<>();
+    private boolean sealed = false;
     
-    public TypeClass(TypeClass father, String name, TypeClassVarDecList dataMembers)
+    public TypeClass(TypeClass father, String name)
     {
         super(name);
         this.father = father;
-        this.dataMembers = dataMembers;
+
+        this.depth = (father == null) ? 0 : father.depth + 1;
+        this.ancestors = (father == null) ? new TypeClass[1] : Arrays.copyOf(father.ancestors, depth + 1);
+        this.ancestors[depth] = this;
+
+        if (father != null)
+        {
+            for (TypeClassVarDec field : father.fields)
+            {
+                inheritMember(field, fields);
+            }
+            for (TypeClassVarDec method : father.vtable)
+            {
+                inheritMember(method, vtable);
+            }
+        }
+    }
+
+    private void inheritMember(TypeClassVarDec dec, List<TypeClassVarDec> layout)
+    {
+        TypeClassVarDec copy = new TypeClassVarDec(dec.t, dec.name, true);
+        copy.offset = dec.offset;
+        layout.add(copy);
+        members.put(copy.name, copy);
     }
 
     /*==================================================================*/
@@ -27,70 +84,87 @@ public class TypeClass extends Type
         {
             return false;
         }
-        TypeClass current = other.father;
-        while (current != null)
-        {
-            if (current == this)
-            {
-                return true;
-            }
-            current = current.father;
-        }
-        return false;
+        return other.depth > depth && other.ancestors[depth] == this;
     }
     /** Check if this class is subclass of other (or same class) */
     public boolean isSubclassOf(TypeClass other)
     {
         if (other == null) return false;
-        if (this == other) return true;
-        return other.isAncestorOf(this);
+        return depth >= other.depth && ancestors[other.depth] == other;
     }
-    
 
-    /** Find member in this class only */
-    public TypeClassVarDec findMember(String memberName)
+    /** Distance from the root of the class hierarchy */
+    public int getDepth() { return depth; }
+
+    /*==================================================================*/
+    /*                    MEMBER TABLE CONSTRUCTION                     */
+    /*==================================================================*/
+
+    /** Declare a member of this class; a method may override an inherited one */
+    public void addMember(TypeClassVarDec dec)
     {
-        for(TypeClassVarDecList it = dataMembers; it != null; it = it.tail)
+        if (sealed)
+        {
+            throw new IllegalStateException("class '" + name + "' is already sealed");
+        }
+        TypeClassVarDec existing = members.get(dec.name);
+        if (dec.t instanceof TypeFunction)
         {
-            TypeClassVarDec dec = it.head;
-            if (dec != null && dec.name.equals(memberName))            
+            if (existing != null && existing.t instanceof TypeFunction)
             {
-                return dec;
+                dec.offset = existing.offset;
+                vtable.set(existing.offset, dec);
             }
+            else
+            {
+                dec.offset = vtable.size();
+                vtable.add(dec);
+            }
+        }
+        else
+        {
+            dec.offset = fields.size() + 1;
+            fields.add(dec);
         }
-        return null;
+        members.put(dec.name, dec);
     }
 
-    /** Find member in this class OR parent classes */
-    public TypeClassVarDec findMemberInHierarchy(String memberName)
+    /** Freeze the member tables once the class declaration is complete */
+    public void seal()
     {
-        for (TypeClass current = this; current != null; current = current.father)
-        {
-            TypeClassVarDec dec = current.findMember(memberName);
-            if (dec != null)
-            {
-                return dec;
-            }
-        }
-        return null;
+        members = Collections.unmodifiableMap(members);
+        fields = Collections.unmodifiableList(fields);
+        vtable = Collections.unmodifiableList(vtable);
+        sealed = true;
+    }
+
+    /*==================================================================*/
+    /*                    MEMBER LOOKUP                                 */
+    /*==================================================================*/
+
+    /** Find member (own or inherited) */
+    public TypeClassVarDec findMember(String memberName)
+    {
+        return members.get(memberName);
     }
 
     /** Find only fields (not methods) in hierarchy */
     public TypeClassVarDec findFieldInHierarchy(String fieldName)
     {
-        for (TypeClass current = this; current != null; current = current.father)
-        {
-            for(TypeClassVarDecList it = current.dataMembers; it != null; it = it.tail)
-            {
-                TypeClassVarDec dec = it.head;
-                if (dec == null) continue;
-                boolean isMethod = (dec.t instanceof TypeFunction);
-                if (!isMethod && dec.name.equals(fieldName)) 
-                {
-                    return dec;
-                }
-            }
-        }
-        return null;
+        TypeClassVarDec dec = members.get(fieldName);
+        return (dec != null && !(dec.t instanceof TypeFunction)) ? dec : null;
     }
+
+    /*==================================================================*/
+    /*                    LAYOUT                                        */
+    /*==================================================================*/
+
+    /** Fields in object layout order (offsets 1, 2, ...) */
+    public List<TypeClassVarDec> getFields() { return fields; }
+
+    /** Methods in vtable slot order (slots 0, 1, ...) */
+    public List<TypeClassVarDec> getVtable() { return vtable; }
+
+    /** Object size in words, vtable pointer included */
+    public int getObjectSize() { return fields.size() + 1; }
 }
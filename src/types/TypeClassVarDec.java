@@ -5,6 +5,9 @@ public class TypeClassVarDec
 	public Type t;
 	public String name;
 	public boolean inherited;
+
+	/* Field: word offset in the object; method: vtable slot */
+	public int offset = -1;
 	
     public TypeClassVarDec(Type t, String name)
     {
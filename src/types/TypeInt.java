@@ -5,7 +5,7 @@ public class TypeInt extends Type
 	/**************************************/
 	/* USUAL SINGLETON IMPLEMENTATION ... */
 	/**************************************/
-	private static TypeInt instance = null;
+	private static final TypeInt instance = new TypeInt();
 
 	/*****************************/
 	/* PREVENT INSTANTIATION ... */
@@ -17,10 +17,6 @@ public class TypeInt extends Type
 	/******************************/
 	public static TypeInt getInstance()
 	{
-		if (instance == null)
-		{
-			instance = new TypeInt();
-		}
 		return instance;
 	}
 	@Override
@@ -5,7 +5,7 @@ public class TypeNil extends Type
     /**************************************/
     /* USUAL SINGLETON IMPLEMENTATION ... */
     /**************************************/
-    private static TypeNil instance = null;
+    private static final TypeNil instance = new TypeNil();
 
     /*****************************/
     /* PREVENT INSTANTIATION ... */
@@ -17,10 +17,6 @@ public class TypeNil extends Type
     /******************************/
     public static TypeNil getInstance()
     {
-        if (instance == null)
-        {
-            instance = new TypeNil();
-        }
         return instance;
     }
 
@@ -5,7 +5,7 @@ public class TypeString extends Type
 	/**************************************/
 	/* USUAL SINGLETON IMPLEMENTATION ... */
 	/**************************************/
-	private static TypeString instance = null;
+	private static final TypeString instance = new TypeString();
 
 	/*****************************/
 	/* PREVENT INSTANTIATION ... */
@@ -17,10 +17,6 @@ public class TypeString extends Type
 	/******************************/
 	public static TypeString getInstance()
 	{
-		if (instance == null)
-		{
-			instance = new TypeString();
-		}
 		return instance;
 	}
 
@@ -5,7 +5,7 @@ public class TypeVoid extends Type
 	/**************************************/
 	/* USUAL SINGLETON IMPLEMENTATION ... */
 	/**************************************/
-	private static TypeVoid instance = null;
+	private static final TypeVoid instance = new TypeVoid();
 
 	/*****************************/
 	/* PREVENT INSTANTIATION ... */
@@ -19,10 +19,6 @@ public class TypeVoid extends Type
 	/******************************/
 	public static TypeVoid getInstance()
 	{
-		if (instance == null)
-		{
-			instance = new TypeVoid();
-		}
 		return instance;
 	}
 